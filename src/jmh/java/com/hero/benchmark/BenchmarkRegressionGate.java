@@ -0,0 +1,115 @@
+package com.hero.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fails the build when a benchmark regressed against a baseline JMH JSON result.
+ * A benchmark regresses when its throughput dropped, or its allocation per operation grew, by more than the tolerance.
+ * Without a baseline the gate only prints the current results.
+ * Configured through the system properties {@code benchmark.result}, {@code benchmark.baseline} and
+ * {@code benchmark.tolerance} (a fraction, e.g. {@code 0.10}).
+ *
+ * @Author Andrea
+ * @Date 2025/12/12 10:40
+ * @Version 1.0
+ *
+ */
+public final class BenchmarkRegressionGate {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    /**
+     * Allocation differences below this many bytes per operation are noise (TLAB and JIT artifacts)
+     */
+    private static final double ALLOCATION_NOISE_BYTES = 16;
+
+    private BenchmarkRegressionGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String resultPath = System.getProperty("benchmark.result", "target/jmh-result.json");
+        String baselinePath = System.getProperty("benchmark.baseline", "");
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.10"));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Score> current = read(objectMapper, new File(resultPath));
+        if (baselinePath.trim().isEmpty()) {
+            current.forEach((name, score) -> System.out.printf("%-70s %s%n", name, score));
+            System.out.println("No benchmark.baseline given, skipping the regression check");
+            return;
+        }
+        Map<String, Score> baseline = read(objectMapper, new File(baselinePath));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score now = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-70s %s (new)%n", entry.getKey(), now);
+                continue;
+            }
+            boolean slower = now.throughput < before.throughput * (1 - tolerance);
+            boolean allocatesMore = now.allocatedBytes - before.allocatedBytes > ALLOCATION_NOISE_BYTES
+                    && now.allocatedBytes > before.allocatedBytes * (1 + tolerance);
+            System.out.printf("%-70s %s, was %s%s%n", entry.getKey(), now, before,
+                    slower || allocatesMore ? "  REGRESSION" : "");
+            if (slower || allocatesMore) {
+                regressions++;
+            }
+        }
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%% against %s%n",
+                    regressions, tolerance * 100, baselinePath);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(ObjectMapper objectMapper, File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : objectMapper.readTree(file)) {
+            double allocated = Double.NaN;
+            for (Map.Entry<String, JsonNode> metric : iterable(run.path("secondaryMetrics"))) {
+                // older JMH versions prefix profiler metrics with a middle dot
+                if (metric.getKey().replace("\u00b7", "").equals(ALLOCATION_METRIC)) {
+                    allocated = metric.getValue().path("score").asDouble();
+                }
+            }
+            scores.put(run.path("benchmark").asText(), new Score(run.path("primaryMetric").path("score").asDouble(),
+                    run.path("primaryMetric").path("scoreUnit").asText(), allocated));
+        }
+        return scores;
+    }
+
+    private static Iterable<Map.Entry<String, JsonNode>> iterable(JsonNode node) {
+        return node::fields;
+    }
+
+    private static final class Score {
+
+        private final double throughput;
+
+        private final String unit;
+
+        /**
+         * Bytes allocated per operation, {@code NaN} when the gc profiler was not enabled
+         */
+        private final double allocatedBytes;
+
+        private Score(double throughput, String unit, double allocatedBytes) {
+            this.throughput = throughput;
+            this.unit = unit;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f %s, %.0f B/op", throughput, unit, allocatedBytes);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.hero.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.hero.biz.dto.GitHubRepoDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson versus Jackson on the same GitHub payload and DTO, both directions.
+ * Gson ignores {@code @JsonProperty}, so it binds fewer fields; the numbers compare tree walking and
+ * allocation, not equivalent output. Both map {@code Instant} as an ISO-8601 string.
+ *
+ * @Author Andrea
+ * @Date 2025/12/12 10:25
+ * @Version 1.0
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonLibraryBenchmark {
+
+    /**
+     * Gson cannot reflect into {@code java.time} types on recent JDKs, so {@code Instant} needs an adapter
+     */
+    static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Instant.class, (JsonSerializer<Instant>) (src, type, context) -> new JsonPrimitive(src.toString()))
+            .registerTypeAdapter(Instant.class, (JsonDeserializer<Instant>) (json, type, context) -> Instant.parse(json.getAsString()))
+            .create();
+
+    private ObjectMapper objectMapper;
+
+    private String payload;
+
+    private GitHubRepoDTO dto;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+                .registerModule(new JavaTimeModule());
+        payload = new String(Payloads.gitHubRepository(), StandardCharsets.UTF_8);
+        dto = objectMapper.readValue(payload, GitHubRepoDTO.class);
+    }
+
+    @Benchmark
+    public GitHubRepoDTO parseJackson() throws IOException {
+        return objectMapper.readValue(payload, GitHubRepoDTO.class);
+    }
+
+    @Benchmark
+    public GitHubRepoDTO parseGson() {
+        return GSON.fromJson(payload, GitHubRepoDTO.class);
+    }
+
+    @Benchmark
+    public String writeJackson() throws IOException {
+        return objectMapper.writeValueAsString(dto);
+    }
+
+    @Benchmark
+    public String writeGson() {
+        return GSON.toJson(dto);
+    }
+}
@@ -0,0 +1,36 @@
+package com.hero.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Recorded upstream payloads shared by the benchmarks.
+ *
+ * @Author Andrea
+ * @Date 2025/12/12 10:05
+ * @Version 1.0
+ *
+ */
+final class Payloads {
+
+    private Payloads() {
+    }
+
+    /**
+     * A full {@code GET /repos/spring-projects/spring-boot} response body, about 7 KB as GitHub sends it.
+     */
+    static byte[] gitHubRepository() throws IOException {
+        try (InputStream in = Payloads.class.getResourceAsStream("/github-repo.json")) {
+            if (in == null) {
+                throw new IOException("github-repo.json is missing from the benchmark resources");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            byte[] buffer = new byte[4096];
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.hero.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hero.biz.RepositoryResponse;
+import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.integration.GitHubRepoStreamingParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage cost of a repository lookup, from the GitHub JSON to the response body:
+ * streaming parse → {@code RepositoryInfo.of} → {@code RepositoryResponse} → Jackson write.
+ * Data binding of the whole payload and the former Gson log line are kept as reference points.
+ * Run with {@code -prof gc} (the {@code benchmark} Maven profile does) to get allocation per operation.
+ *
+ * @Author Andrea
+ * @Date 2025/12/12 10:10
+ * @Version 1.0
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryMappingBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private GitHubRepoStreamingParser streamingParser;
+
+    private byte[] payload;
+
+    private GitHubRepoDTO dto;
+
+    private RepositoryInfo info;
+
+    private RepositoryResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        // GitHub sends ~90 fields, the DTO maps 5
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .registerModule(new JavaTimeModule());
+        streamingParser = new GitHubRepoStreamingParser();
+        payload = Payloads.gitHubRepository();
+        dto = objectMapper.readValue(payload, GitHubRepoDTO.class);
+        info = RepositoryInfo.of("spring-projects", "spring-boot", dto);
+        response = new RepositoryResponse(info);
+    }
+
+    /**
+     * The response extractor used by {@code GitHubClientService}.
+     */
+    @Benchmark
+    public GitHubRepoDTO parseStreaming() throws IOException {
+        return streamingParser.parse(new ByteArrayInputStream(payload));
+    }
+
+    /**
+     * Jackson data binding, as the {@code RestTemplate} message converter did before.
+     */
+    @Benchmark
+    public GitHubRepoDTO parseDataBinding() throws IOException {
+        return objectMapper.readValue(payload, GitHubRepoDTO.class);
+    }
+
+    @Benchmark
+    public RepositoryInfo mapToEntity() {
+        return RepositoryInfo.of("spring-projects", "spring-boot", dto);
+    }
+
+    @Benchmark
+    public RepositoryResponse mapToResponse() {
+        return new RepositoryResponse(info);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * The former {@code JsonUtils.toJson(apiData)} info log line, paid on every fetch.
+     */
+    @Benchmark
+    public String logLineGson() {
+        return JsonLibraryBenchmark.GSON.toJson(dto);
+    }
+
+    /**
+     * All stages of one cache-miss lookup.
+     */
+    @Benchmark
+    public byte[] endToEnd() throws IOException {
+        GitHubRepoDTO parsed = streamingParser.parse(new ByteArrayInputStream(payload));
+        RepositoryInfo entity = RepositoryInfo.of("spring-projects", "spring-boot", parsed);
+        return objectMapper.writeValueAsBytes(new RepositoryResponse(entity));
+    }
+}
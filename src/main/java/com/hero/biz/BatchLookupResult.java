@@ -0,0 +1,55 @@
+package com.hero.biz;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hero.dao.entity.RepositoryInfo;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * * * @Description One line of a batch lookup response, reporting the outcome for a single repository
+ *
+ * @Author Andrea
+ * @Date 2025/12/5 09:15
+ * @Version 1.0
+ *
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchLookupResult {
+
+    public enum Status {
+        OK, NOT_FOUND, ERROR
+    }
+
+    private String owner;
+
+    private String repoName;
+
+    private Status status;
+
+    /**
+     * Repository details, present only when {@code status} is {@code OK}
+     */
+    private RepositoryResponse repository;
+
+    /**
+     * Failure reason, present only when {@code status} is {@code ERROR}
+     */
+    private String error;
+
+    public static BatchLookupResult ok(String owner, String repoName, RepositoryInfo info) {
+        return new BatchLookupResult(owner, repoName, Status.OK, new RepositoryResponse(info), null);
+    }
+
+    public static BatchLookupResult notFound(String owner, String repoName) {
+        return new BatchLookupResult(owner, repoName, Status.NOT_FOUND, null, null);
+    }
+
+    public static BatchLookupResult error(String owner, String repoName, String error) {
+        return new BatchLookupResult(owner, repoName, Status.ERROR, null, error);
+    }
+}
@@ -0,0 +1,36 @@
+package com.hero.biz;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * * * @Description One keyset page of an owner's repositories
+ *
+ * @Author Andrea
+ * @Date 2025/12/18 10:45
+ * @Version 1.0
+ *
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerRepositoriesResponse {
+
+    /**
+     * Username of the user or organization
+     */
+    private String owner;
+
+    /**
+     * Repositories of this page, in name order
+     */
+    private List<RepositoryResponse> repositories;
+
+    /**
+     * Cursor of the next page, passed back as {@code cursor}; {@code null} on the last page
+     */
+    private String nextCursor;
+}
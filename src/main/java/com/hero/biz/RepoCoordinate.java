@@ -0,0 +1,30 @@
+package com.hero.biz;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * * * @Description Owner/name pair identifying a GitHub repository, e.g. in a batch request
+ *
+ * @Author Andrea
+ * @Date 2025/12/5 09:10
+ * @Version 1.0
+ *
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepoCoordinate {
+    /**
+     * Username of the repository owner
+     */
+    private String owner;
+
+    /**
+     * Name of the repository
+     */
+    private String repoName;
+}
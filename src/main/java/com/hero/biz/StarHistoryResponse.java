@@ -0,0 +1,69 @@
+package com.hero.biz;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * * * @Description Downsampled star history of a repository
+ *
+ * @Author Andrea
+ * @Date 2025/12/17 10:30
+ * @Version 1.0
+ *
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StarHistoryResponse {
+
+    /**
+     * Full name of the repository (e.g., "owner/repo")
+     */
+    private String fullName;
+
+    /**
+     * Start of the range in ISO 8601 format, inclusive
+     */
+    private String from;
+
+    /**
+     * End of the range in ISO 8601 format, exclusive
+     */
+    private String to;
+
+    /**
+     * Bucket width in ISO 8601 duration format (e.g., "P1D")
+     */
+    private String step;
+
+    /**
+     * One point per bucket that holds samples, oldest first
+     */
+    private List<Point> points;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+
+        /**
+         * Bucket start in ISO 8601 format
+         */
+        private String timestamp;
+
+        /**
+         * Highest star count sampled in the bucket
+         */
+        private int stars;
+
+        /**
+         * Lowest star count sampled in the bucket
+         */
+        private int minStars;
+
+        private long samples;
+    }
+}
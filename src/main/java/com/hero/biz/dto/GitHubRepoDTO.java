@@ -3,6 +3,9 @@ package com.hero.biz.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
 
 /**
  * * * @Description Data Transfer Object for GitHub repository details.
@@ -14,6 +17,7 @@ import lombok.Setter;
  */
 @Getter
 @Setter
+@ToString
 public class GitHubRepoDTO {
 
     @JsonProperty("full_name")
@@ -28,5 +32,5 @@ public class GitHubRepoDTO {
     private int stargazersCount;
 
     @JsonProperty("created_at")
-    private String createdAt;
+    private Instant createdAt;
 }
@@ -0,0 +1,104 @@
+package com.hero.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated, bounded thread pools so that background and fan-out work cannot starve the servlet threads.
+ *
+ * @Author Andrea
+ * @Date 2025/12/5 09:30
+ * @Version 1.0
+ *
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Pool writing async MVC responses, such as the NDJSON batch stream. Declaring any other executor turns off
+     * Boot's own {@code applicationTaskExecutor}, which would leave MVC on a thread per request; defining it here
+     * keeps that work bounded, and the MVC auto-configuration picks it up by name.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(@Value("${github.async.mvc-threads:32}") int threads,
+                                                          @Value("${github.async.mvc-queue:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    /**
+     * Pool resolving the items of batch lookups; each batch keeps at most {@code github.batch.parallelism} items in flight.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchLookupExecutor(@Value("${github.batch.threads:32}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("repo-batch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Pool running background revalidation of stale repositories; refreshes that do not fit the queue are skipped.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor refreshExecutor(@Value("${github.refresh.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("repo-refresh-");
+        return executor;
+    }
+
+    /**
+     * Pool for blocking JPA work on the non-blocking lookup path, so that neither servlet nor event-loop threads
+     * wait on the database.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor persistenceExecutor(@Value("${github.async.persistence-threads:16}") int threads,
+                                                      @Value("${github.async.persistence-queue:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("repo-persistence-");
+        return executor;
+    }
+
+    /**
+     * Pool waiting on the owning peer on the non-blocking lookup path; a peer waits on GitHub in turn, so these
+     * calls are kept off the persistence pool. Calls that do not fit the queue are fetched locally.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor peerExecutor(@Value("${github.peers.threads:32}") int threads,
+                                               @Value("${github.peers.queue:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("repo-peer-");
+        return executor;
+    }
+
+    /**
+     * Pool fetching the pages of owner listings in parallel; a listing waits for its pages, so they are never dropped.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor ownerListingExecutor(@Value("${github.listing.threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("owner-listing-");
+        return executor;
+    }
+}
@@ -0,0 +1,81 @@
+package com.hero.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client configuration for calls to the GitHub API.
+ * Connections are pooled and kept alive across requests, and every phase of a call is bounded by a timeout
+ * so that a slow upstream cannot hold a servlet thread indefinitely.
+ *
+ * @Author Andrea
+ * @Date 2025/12/4 10:20
+ * @Version 1.0
+ *
+ */
+@Configuration
+public class GitHubHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager gitHubConnectionManager(
+            @Value("${github.http.max-total:100}") int maxTotal,
+            @Value("${github.http.max-per-route:50}") int maxPerRoute,
+            @Value("${github.http.time-to-live:5m}") Duration timeToLive) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        // re-check connections that sat idle in the pool before reusing them
+        connectionManager.setValidateAfterInactivity(2000);
+        return connectionManager;
+    }
+
+    /**
+     * Leased, pending and available connections of the pool, as {@code httpcomponents.httpclient.pool.*}
+     */
+    @Bean
+    public MeterBinder gitHubConnectionPoolMetrics(PoolingHttpClientConnectionManager gitHubConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(gitHubConnectionManager, "github");
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient gitHubHttpClient(
+            PoolingHttpClientConnectionManager gitHubConnectionManager,
+            @Value("${github.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${github.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${github.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${github.http.idle-timeout:30s}") Duration idleTimeout) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) poolAcquireTimeout.toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(gitHubConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate gitHubRestTemplate(@Qualifier("gitHubHttpClient") CloseableHttpClient gitHubHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(gitHubHttpClient));
+    }
+}
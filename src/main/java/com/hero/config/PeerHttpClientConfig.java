@@ -0,0 +1,49 @@
+package com.hero.config;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * HTTP client configuration for calls between peer instances.
+ * Peers sit next to each other, so the connect timeout is much shorter than GitHub's: a peer that cannot be reached
+ * quickly is skipped in favour of a local fetch. The read timeout covers the owning peer's own GitHub call.
+ *
+ * @Author Andrea
+ * @Date 2025/12/21 10:20
+ * @Version 1.0
+ *
+ */
+@Configuration
+public class PeerHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient peerHttpClient(@Value("${github.peers.connect-timeout:200ms}") Duration connectTimeout,
+                                              @Value("${github.peers.read-timeout:12s}") Duration readTimeout,
+                                              @Value("${github.peers.max-per-route:50}") int maxPerRoute) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectTimeout.toMillis())
+                .build();
+        return HttpClients.custom()
+                .setDefaultRequestConfig(requestConfig)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setMaxConnTotal(maxPerRoute * 8)
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate peerRestTemplate(@Qualifier("peerHttpClient") CloseableHttpClient peerHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(peerHttpClient));
+    }
+}
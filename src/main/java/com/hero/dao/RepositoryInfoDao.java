@@ -1,7 +1,13 @@
 package com.hero.dao;
 
 import com.hero.dao.entity.RepositoryInfo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface to manage {@link RepositoryInfo} entity persistence.
@@ -13,4 +19,61 @@ import org.springframework.data.jpa.repository.JpaRepository;
  *
  */
 public interface RepositoryInfoDao extends JpaRepository<RepositoryInfo, Long> {
+
+    /**
+     * Finds the stored row for a repository, backed by the unique (owner, repo_name) index.
+     * Tolerates the duplicate rows of a database the V1 migration has not deduplicated yet, serving the newest one.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @return the stored repository info, if any
+     */
+    default Optional<RepositoryInfo> findByOwnerAndRepoName(String owner, String repoName) {
+        return findFirstByOwnerAndRepoNameOrderByIdDesc(owner, repoName);
+    }
+
+    /**
+     * Finds the newest stored row for a repository; use {@link #findByOwnerAndRepoName}.
+     */
+    Optional<RepositoryInfo> findFirstByOwnerAndRepoNameOrderByIdDesc(String owner, String repoName);
+
+    /**
+     * Deletes the stored row of a repository, duplicates included.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @return the number of rows deleted
+     */
+    @Transactional
+    long deleteByOwnerAndRepoName(String owner, String repoName);
+
+    /**
+     * Finds the stored rows of an owner among the given repository names, for bulk upserts.
+     *
+     * @param owner the username of the repository owner
+     * @param repoNames the names of the repositories
+     * @return the stored rows, in no particular order
+     */
+    List<RepositoryInfo> findByOwnerAndRepoNameIn(String owner, Collection<String> repoNames);
+
+    /**
+     * Keyset page of an owner's stored repositories: the rows named after {@code afterRepoName}, in name order.
+     * Seeks on the unique (owner, repo_name) index instead of skipping rows with {@code OFFSET},
+     * so every page costs the same however deep it is.
+     *
+     * @param owner the username of the repository owner
+     * @param afterRepoName the name of the last row of the previous page, or {@code ""} for the first page
+     * @param page only the page size is used; the page number must be {@code 0}
+     * @return at most {@code page.getPageSize()} rows
+     */
+    List<RepositoryInfo> findByOwnerAndRepoNameGreaterThanOrderByRepoNameAsc(String owner, String afterRepoName, Pageable page);
+
+    /**
+     * Keyset page over all stored rows in id order, for walking the whole table in bounded batches.
+     *
+     * @param afterId the id of the last row of the previous batch, or {@code 0} for the first batch
+     * @param page only the page size is used; the page number must be {@code 0}
+     * @return at most {@code page.getPageSize()} rows
+     */
+    List<RepositoryInfo> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable page);
 }
@@ -0,0 +1,54 @@
+package com.hero.dao;
+
+import com.hero.dao.entity.StarSample;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface to manage {@link StarSample} persistence and star-history range queries.
+ *
+ * @Author Andrea
+ * @Date 2025/12/17 10:10
+ * @Version 1.0
+ *
+ */
+public interface StarHistoryDao extends JpaRepository<StarSample, StarSample.Key> {
+
+    /**
+     * Downsamples the star history of a repository into fixed-width buckets, in the database.
+     * The scan is a primary key range on (repository_id, sampled_at).
+     *
+     * @param repositoryId the id of the repository
+     * @param fromMillis start of the range, inclusive, in epoch milliseconds
+     * @param toMillis end of the range, exclusive, in epoch milliseconds
+     * @param stepMillis bucket width in milliseconds
+     * @return one row per non-empty bucket, oldest first
+     */
+    @Query(value = "SELECT FLOOR(s.sampled_at / :step) * :step AS bucket, "
+            + "MIN(s.stars) AS minStars, MAX(s.stars) AS maxStars, COUNT(*) AS samples "
+            + "FROM repository_star_history s "
+            + "WHERE s.repository_id = :repositoryId AND s.sampled_at >= :fromMillis AND s.sampled_at < :toMillis "
+            + "GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<StarBucket> findDownsampled(@Param("repositoryId") Long repositoryId, @Param("fromMillis") long fromMillis,
+                                     @Param("toMillis") long toMillis, @Param("step") long stepMillis);
+
+    /**
+     * One downsampled bucket of {@link #findDownsampled}.
+     */
+    interface StarBucket {
+
+        /**
+         * Bucket start, in epoch milliseconds
+         */
+        Long getBucket();
+
+        Integer getMinStars();
+
+        Integer getMaxStars();
+
+        Long getSamples();
+    }
+}
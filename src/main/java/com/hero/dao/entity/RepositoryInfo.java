@@ -1,5 +1,7 @@
 package com.hero.dao.entity;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.hero.biz.dto.GitHubRepoDTO;
 import lombok.*;
 import org.springframework.data.annotation.CreatedBy;
@@ -9,6 +11,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 
@@ -20,11 +23,12 @@ import java.time.LocalDateTime;
  * @Version 1.0
  */
 @Entity
-@Table(name = "repository_info")
+@Table(name = "repository_info",
+        uniqueConstraints = @UniqueConstraint(name = "uk_repository_info_owner_repo", columnNames = {"owner", "repo_name"}))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class RepositoryInfo {
@@ -33,8 +37,10 @@ public class RepositoryInfo {
      * Primary key for the repository info
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "repository_info_id")
+    @TableGenerator(name = "repository_info_id", table = "id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "repository_info", allocationSize = 50)
+    private Long id;  // pooled table generator (not IDENTITY) so Hibernate can batch inserts
 
     /**
      * Represents the owner of the repository
@@ -44,6 +50,7 @@ public class RepositoryInfo {
     /**
      * Represents the name of the repository
      */
+    @Column(name = "repo_name")
     private String repoName;
 
     /**
@@ -55,6 +62,28 @@ public class RepositoryInfo {
     private int stars;
     private Instant createdAt;  // or use java.time.Instant/LocalDateTime for dates
 
+    /**
+     * SHA-256 of the GitHub-sourced fields, used to skip writes when nothing changed
+     */
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * Upstream {@code ETag} of the last GitHub response, sent back as {@code If-None-Match} on refresh
+     */
+    private String etag;
+
+    /**
+     * Upstream {@code Last-Modified} of the last GitHub response, sent back as {@code If-Modified-Since} on refresh
+     */
+    private String lastModified;
+
+    /**
+     * Set on copies served from storage because GitHub could not be asked, never persisted
+     */
+    @Transient
+    private boolean stale;
+
     @CreatedBy
     @Column(updatable = false)
     private String createdBy;
@@ -78,21 +107,59 @@ public class RepositoryInfo {
                 .description(apiData.getDescription())
                 .cloneUrl(apiData.getCloneUrl())
                 .stars(apiData.getStargazersCount())
-                .createdAt(parseInstant(apiData.getCreatedAt())) // parse created_at string to Instant
-                .build();
+                .createdAt(apiData.getCreatedAt())
+                .build()
+                .withContentHash();
     }
 
     /**
-     * Parses a date-time string into an {@code Instant} object.
-     * If the input string is {@code null} or empty, it returns {@code null}.
+     * Computes the content hash over the fields sourced from GitHub and stores it on this entity.
      *
-     * @param dateStr the date-time string to be parsed, expected to be in ISO-8601 format
-     * @return the parsed {@code Instant} object, or {@code null} if the input string is {@code null} or empty
+     * @return this entity, for chaining
      */
-    private static Instant parseInstant(String dateStr) {
-        if (dateStr == null || dateStr.isEmpty()) {
-            return null;
+    public RepositoryInfo withContentHash() {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putNullable(hasher, fullName);
+        putNullable(hasher, description);
+        putNullable(hasher, cloneUrl);
+        hasher.putInt(stars);
+        hasher.putLong(createdAt == null ? Long.MIN_VALUE : createdAt.toEpochMilli());
+        this.contentHash = hasher.hash().toString();
+        return this;
+    }
+
+    /**
+     * Copies the GitHub-sourced fields and validators of {@code other} onto this entity, keeping id and audit columns.
+     * Validators are kept when {@code other} carries none (GraphQL results, listings, webhooks): GitHub compares them
+     * with its current representation, so an older pair can only cost a full answer, never a wrong 304.
+     *
+     * @param other freshly fetched repository details for the same owner/repo
+     */
+    public void updateFrom(RepositoryInfo other) {
+        this.fullName = other.getFullName();
+        this.description = other.getDescription();
+        this.cloneUrl = other.getCloneUrl();
+        this.stars = other.getStars();
+        this.createdAt = other.getCreatedAt();
+        this.contentHash = other.getContentHash();
+        if (other.getEtag() != null || other.getLastModified() != null) {
+            this.etag = other.getEtag();
+            this.lastModified = other.getLastModified();
+        }
+    }
+
+    /**
+     * Returns a copy of this entity flagged as {@link #isStale() stale}; this entity is left untouched.
+     */
+    public RepositoryInfo asStale() {
+        return toBuilder().stale(true).build();
+    }
+
+    private static void putNullable(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
         }
-        return Instant.parse(dateStr);
     }
 }
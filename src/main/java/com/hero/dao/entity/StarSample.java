@@ -0,0 +1,67 @@
+package com.hero.dao.entity;
+
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * * @Description One star-count sample of a repository, keyed by (repository id, sample time)
+ *
+ * @Author Andrea
+ * @Date 2025/12/17 10:00
+ * @Version 1.0
+ */
+@Entity
+@Table(name = "repository_star_history")
+@IdClass(StarSample.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StarSample implements Persistable<StarSample.Key> {
+
+    /**
+     * Id of the sampled {@link RepositoryInfo}; leading primary key column, so range scans per repository use the key
+     */
+    @Id
+    @Column(name = "repository_id")
+    private Long repositoryId;
+
+    /**
+     * Sample time in epoch milliseconds
+     */
+    @Id
+    @Column(name = "sampled_at")
+    private long sampledAt;
+
+    private int stars;
+
+    public static StarSample of(RepositoryInfo info, long sampledAtMillis) {
+        return new StarSample(info.getId(), sampledAtMillis, info.getStars());
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(repositoryId, sampledAt);
+    }
+
+    /**
+     * Samples are only ever inserted, so Spring Data persists them without a merge select.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private Long repositoryId;
+
+        private long sampledAt;
+    }
+}
@@ -1,17 +1,45 @@
 package com.hero.integration;
 
 import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.util.GitHubUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Service class for communicating with the GitHub API to fetch repository details.
  * Utilizes a predefined API URL to query repository information and returns structured data in the form of a {@code GitHubRepoDTO}.
+ * Every call goes through the {@code github} bulkhead and circuit breaker; a refused call fails immediately with
+ * {@link GitHubUnavailableException} instead of waiting on a degraded upstream.
  *
  * @Author Andrea
  * @Date 2025/11/30 11:32
@@ -21,13 +49,79 @@ import java.util.Collections;
 @Service
 public class GitHubClientService {
 
+    /**
+     * Largest page size GitHub accepts for listings
+     */
+    private static final int LISTING_PAGE_SIZE = 100;
+
     @Value("${github.api.base-url:https://api.github.com}")
     private String baseUrl;
 
-    @Value("${github.api.token:}")
-    private String githubToken;
+    /**
+     * Backed by the pooled, keep-alive client from {@code GitHubHttpClientConfig}
+     */
+    private final RestTemplate restTemplate;
+
+    /**
+     * Present only when {@code github.api.transport} is {@code graphql}
+     */
+    private final GitHubGraphQlBatcher graphQlBatcher;
+
+    private final GitHubTokenPool tokenPool;
+
+    /**
+     * Reads only the projected fields straight off the response stream
+     */
+    private final GitHubRepoStreamingParser repoParser = new GitHubRepoStreamingParser();
+
+    /**
+     * Present only when {@code github.api.non-blocking} is {@code true}
+     */
+    private final GitHubReactiveClient reactiveClient;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Caps concurrent calls so that a slow GitHub cannot tie up every request thread
+     */
+    private final Bulkhead bulkhead;
+
+    /**
+     * Opens on a high failure or slow-call rate, see {@link GitHubFailurePredicate}
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Fetches the pages of owner listings after the first one in parallel
+     */
+    private final Executor ownerListingExecutor;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${github.graphql.timeout:10s}")
+    private Duration graphQlTimeout;
+
+    /**
+     * Upper bound on the pages of one owner listing, 100 repositories each
+     */
+    @Value("${github.listing.max-pages:100}")
+    private int maxListingPages;
+
+    public GitHubClientService(@Qualifier("gitHubRestTemplate") RestTemplate restTemplate,
+                               ObjectProvider<GitHubGraphQlBatcher> graphQlBatcher,
+                               GitHubTokenPool tokenPool,
+                               ObjectProvider<GitHubReactiveClient> reactiveClient,
+                               MeterRegistry meterRegistry,
+                               BulkheadRegistry bulkheadRegistry,
+                               CircuitBreakerRegistry circuitBreakerRegistry,
+                               @Qualifier("ownerListingExecutor") Executor ownerListingExecutor) {
+        this.restTemplate = restTemplate;
+        this.graphQlBatcher = graphQlBatcher.getIfAvailable();
+        this.tokenPool = tokenPool;
+        this.reactiveClient = reactiveClient.getIfAvailable();
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = bulkheadRegistry.bulkhead("github");
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("github");
+        this.ownerListingExecutor = ownerListingExecutor;
+    }
 
     /**
      * Fetches the details of a specified GitHub repository using the GitHub API.
@@ -37,17 +131,314 @@ public class GitHubClientService {
      * @return a {@code GitHubRepoDTO} object containing the repository details, or {@code null} if the repository is not found
      */
     public GitHubRepoDTO fetchRepoDetails(String owner, String repo) {
+        return fetchRepoDetails(owner, repo, null, null).getBody();
+    }
+
+    /**
+     * Fetches the details of a specified GitHub repository, conditionally on the validators of a stored copy.
+     * A {@code 304 Not Modified} answer is returned without a body and does not count against the rate limit.
+     * With the GraphQL transport the fetch joins the next micro-batch instead, and validators are ignored.
+     * Requests are authenticated with the token that has the most remaining budget; a request rejected by
+     * the rate limit is retried once per remaining token.
+     *
+     * @param owner the username of the repository owner
+     * @param repo the name of the repository
+     * @param etag the stored {@code ETag}, sent as {@code If-None-Match}; may be {@code null}
+     * @param lastModified the stored {@code Last-Modified}, sent as {@code If-Modified-Since}; may be {@code null}
+     * @return the fetch result, never {@code null}
+     * @throws GitHubUnavailableException if the circuit breaker is open, the bulkhead is full or every token is rate limited
+     */
+    public GitHubFetchResult fetchRepoDetails(String owner, String repo, String etag, String lastModified) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            GitHubFetchResult result = bulkhead.executeSupplier(() ->
+                    circuitBreaker.executeSupplier(() -> exchangeRepoDetails(owner, repo, etag, lastModified)));
+            recordFetch(sample, statusOf(result));
+            return result;
+        } catch (BulkheadFullException | CallNotPermittedException | GitHubRateLimitedException | RejectedExecutionException e) {
+            recordFetch(sample, statusOf(e));
+            throw new GitHubUnavailableException(owner, repo, e);
+        } catch (RuntimeException e) {
+            recordFetch(sample, statusOf(e));
+            throw e;
+        }
+    }
+
+    private GitHubFetchResult exchangeRepoDetails(String owner, String repo, String etag, String lastModified) {
+        if (graphQlBatcher != null) {
+            GitHubRepoDTO body = fetchViaGraphQl(owner, repo);
+            return body == null ? GitHubFetchResult.notFound() : GitHubFetchResult.ok(body, null, null);
+        }
         String url = baseUrl + "/repos/" + owner + "/" + repo;
         HttpHeaders headers = new HttpHeaders();
         headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        if (StringUtils.hasText(etag)) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        if (StringUtils.hasText(lastModified)) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
 
-        HttpEntity<Void> request = new HttpEntity<>(headers);
         try {
-            ResponseEntity<GitHubRepoDTO> response = restTemplate.exchange(url, HttpMethod.GET, request, GitHubRepoDTO.class);
+            ResponseEntity<GitHubRepoDTO> response = exchange(url, headers, repoParser);
+            String newEtag = response.getHeaders().getFirst(HttpHeaders.ETAG);
+            String newLastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                return GitHubFetchResult.notModified(newEtag != null ? newEtag : etag,
+                        newLastModified != null ? newLastModified : lastModified);
+            }
+            if (response.getBody() == null) {
+                // a success without a body is an upstream fault, not a missing repository
+                throw new RestClientException("GitHub answered " + response.getStatusCodeValue()
+                        + " without a body for " + owner + "/" + repo);
+            }
             // parsed GitHub repo details
-            return response.getBody();
+            return GitHubFetchResult.ok(response.getBody(), newEtag, newLastModified);
         } catch (HttpClientErrorException.NotFound e) {
-            return null;  // handle 404 (not found)
+            return GitHubFetchResult.notFound();  // handle 404 (not found)
+        }
+    }
+
+    /**
+     * Fetches every repository of a user or organization from {@code GET /users/{owner}/repos}.
+     * The first page is fetched alone; its {@code Link} header gives the page count, and the remaining pages,
+     * up to {@code github.listing.max-pages}, are then fetched in parallel. Pages are sorted by full name
+     * so that they do not shift while being fetched. Every page goes through the bulkhead and circuit breaker.
+     *
+     * @param owner the username of the user or organization
+     * @return the listed repositories in page order, or {@code null} if the owner is not found
+     * @throws GitHubUnavailableException if the circuit breaker is open, the bulkhead is full or every token is rate limited
+     */
+    public List<GitHubRepoDTO> fetchOwnerRepositories(String owner) {
+        ResponseEntity<List<GitHubRepoDTO>> first;
+        try {
+            first = fetchListingPage(owner, 1);
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+        List<GitHubRepoDTO> repositories = new ArrayList<>(first.getBody() == null ? Collections.emptyList() : first.getBody());
+        int lastPage = Math.min(GitHubLinkHeader.lastPage(first.getHeaders().getFirst(HttpHeaders.LINK)), maxListingPages);
+        List<CompletableFuture<ResponseEntity<List<GitHubRepoDTO>>>> pages = new ArrayList<>(Math.max(0, lastPage - 1));
+        for (int page = 2; page <= lastPage; page++) {
+            int number = page;
+            pages.add(CompletableFuture.supplyAsync(() -> fetchListingPage(owner, number), ownerListingExecutor));
+        }
+        for (CompletableFuture<ResponseEntity<List<GitHubRepoDTO>>> page : pages) {
+            List<GitHubRepoDTO> body;
+            try {
+                body = page.join().getBody();
+            } catch (CompletionException e) {
+                pages.forEach(pending -> pending.cancel(false));
+                Throwable cause = unwrap(e);
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+            }
+            if (body != null) {
+                repositories.addAll(body);
+            }
+        }
+        return repositories;
+    }
+
+    private ResponseEntity<List<GitHubRepoDTO>> fetchListingPage(String owner, int page) {
+        String url = baseUrl + "/users/" + owner + "/repos?type=owner&sort=full_name&direction=asc&per_page="
+                + LISTING_PAGE_SIZE + "&page=" + page;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ResponseEntity<List<GitHubRepoDTO>> response = bulkhead.executeSupplier(() ->
+                    circuitBreaker.executeSupplier(() -> exchange(url, headers, repoParser.listExtractor())));
+            recordListing(sample, "200");
+            return response;
+        } catch (BulkheadFullException | CallNotPermittedException | GitHubRateLimitedException e) {
+            recordListing(sample, statusOf(e));
+            throw new GitHubUnavailableException(owner, "*", e);
+        } catch (RuntimeException e) {
+            recordListing(sample, statusOf(e));
+            throw e;
+        }
+    }
+
+    /**
+     * Sends a GET authenticated with the token that has the most remaining budget, updating the pool from the
+     * response headers; a request rejected by the rate limit is retried once per remaining token.
+     */
+    private <T> ResponseEntity<T> exchange(String url, HttpHeaders headers, ResponseExtractor<ResponseEntity<T>> extractor) {
+        for (int attempt = 0; ; attempt++) {
+            String token = tokenPool.acquire();
+            if (token != null) {
+                headers.setBearerAuth(token);
+            } else {
+                headers.remove(HttpHeaders.AUTHORIZATION);
+            }
+            try {
+                ResponseEntity<T> response = restTemplate.execute(url, HttpMethod.GET,
+                        request -> request.getHeaders().putAll(headers), extractor);
+                tokenPool.update(token, response.getHeaders());
+                return response;
+            } catch (HttpClientErrorException.NotFound e) {
+                tokenPool.update(token, e.getResponseHeaders());
+                throw e;
+            } catch (HttpClientErrorException.Forbidden | HttpClientErrorException.TooManyRequests e) {
+                // rate limited: the token is parked, retry with the next best one
+                if (!tokenPool.onRejected(token, e.getResponseHeaders()) || token == null || attempt + 1 >= tokenPool.size()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #fetchRepoDetails(String, String, String, String)}.
+     * Uses the GraphQL micro-batcher or the reactive client when configured; otherwise the blocking call
+     * runs on the calling thread.
+     *
+     * @return a future completed with the fetch result
+     */
+    public CompletableFuture<GitHubFetchResult> fetchRepoDetailsAsync(String owner, String repo, String etag, String lastModified) {
+        if (graphQlBatcher != null) {
+            return guarded(owner, repo, () -> graphQlBatcher.fetch(owner, repo)
+                    .thenApply(body -> body == null ? GitHubFetchResult.notFound() : GitHubFetchResult.ok(body, null, null)));
+        }
+        if (reactiveClient != null) {
+            return guarded(owner, repo, () -> reactiveClient.fetchRepoDetails(owner, repo, etag, lastModified).toFuture());
+        }
+        try {
+            return CompletableFuture.completedFuture(fetchRepoDetails(owner, repo, etag, lastModified));
+        } catch (RuntimeException e) {
+            return failed(e);
+        }
+    }
+
+    private GitHubRepoDTO fetchViaGraphQl(String owner, String repo) {
+        try {
+            return graphQlBatcher.fetch(owner, repo).get(graphQlTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestClientException("Interrupted while waiting for GitHub GraphQL batch", e);
+        } catch (TimeoutException e) {
+            throw new RestClientException("Timed out waiting for GitHub GraphQL batch for " + owner + "/" + repo, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RestClientException) {
+                throw (RestClientException) e.getCause();
+            }
+            if (e.getCause() instanceof GitHubRateLimitedException) {
+                throw (GitHubRateLimitedException) e.getCause();
+            }
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw (RejectedExecutionException) e.getCause();
+            }
+            throw new RestClientException("GitHub GraphQL batch failed for " + owner + "/" + repo, e.getCause());
+        }
+    }
+
+    /**
+     * Runs a non-blocking call under the bulkhead and circuit breaker: permits are taken up front and released,
+     * with the outcome reported to the breaker, when the future completes.
+     */
+    private CompletableFuture<GitHubFetchResult> guarded(String owner, String repo,
+                                                         Supplier<CompletableFuture<GitHubFetchResult>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!bulkhead.tryAcquirePermission()) {
+            BulkheadFullException rejected = BulkheadFullException.createBulkheadFullException(bulkhead);
+            recordFetch(sample, statusOf(rejected));
+            return failed(new GitHubUnavailableException(owner, repo, rejected));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            CallNotPermittedException rejected = CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+            recordFetch(sample, statusOf(rejected));
+            return failed(new GitHubUnavailableException(owner, repo, rejected));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<GitHubFetchResult> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = failed(e);
+        }
+        return future.handle((result, error) -> {
+            bulkhead.onComplete();
+            long elapsed = System.nanoTime() - start;
+            if (error == null) {
+                circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                recordFetch(sample, statusOf(result));
+                return result;
+            }
+            Throwable cause = unwrap(error);
+            circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, cause);
+            recordFetch(sample, statusOf(cause));
+            // refused like an open circuit, so that callers fall back the same way
+            throw new CompletionException(cause instanceof GitHubRateLimitedException || cause instanceof RejectedExecutionException
+                    ? new GitHubUnavailableException(owner, repo, cause) : cause);
+        });
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Records one upstream call on {@code github.fetch}, tagged with the HTTP status it ended in,
+     * or with the reason it was refused locally
+     */
+    private void recordFetch(Timer.Sample sample, String status) {
+        sample.stop(Timer.builder("github.fetch")
+                .description("Latency of GitHub repository fetches")
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * Records one owner listing page on {@code github.list}, tagged like {@code github.fetch}
+     */
+    private void recordListing(Timer.Sample sample, String status) {
+        sample.stop(Timer.builder("github.list")
+                .description("Latency of GitHub owner listing pages")
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
+    }
+
+    private static String statusOf(GitHubFetchResult result) {
+        switch (result.getStatus()) {
+            case NOT_MODIFIED:
+                return "304";
+            case NOT_FOUND:
+                return "404";
+            default:
+                return "200";
+        }
+    }
+
+    private static String statusOf(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof BulkheadFullException) {
+            return "bulkhead-full";
+        }
+        if (cause instanceof CallNotPermittedException) {
+            return "circuit-open";
+        }
+        if (cause instanceof GitHubRateLimitedException) {
+            return "rate-limited";
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return "queue-full";
+        }
+        if (cause instanceof HttpClientErrorException) {
+            return String.valueOf(((HttpClientErrorException) cause).getRawStatusCode());
+        }
+        if (cause instanceof WebClientResponseException) {
+            return String.valueOf(((WebClientResponseException) cause).getRawStatusCode());
         }
+        return "error";
     }
 }
@@ -0,0 +1,33 @@
+package com.hero.integration;
+
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+
+/**
+ * Decides which GitHub call failures count against the {@code github} circuit breaker:
+ * server errors, timeouts and I/O errors do; 4xx answers, requests refused because every token is rate limited
+ * (the token pool handles those) and batches refused by a full GraphQL queue do not.
+ * Referenced from {@code resilience4j.circuitbreaker.instances.github.record-failure-predicate}.
+ *
+ * @Author Andrea
+ * @Date 2025/12/14 10:10
+ * @Version 1.0
+ *
+ */
+public class GitHubFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable error) {
+        if (error instanceof HttpClientErrorException || error instanceof GitHubRateLimitedException
+                || error instanceof RejectedExecutionException) {
+            return false;
+        }
+        if (error instanceof WebClientResponseException) {
+            return ((WebClientResponseException) error).getRawStatusCode() >= 500;
+        }
+        return true;
+    }
+}
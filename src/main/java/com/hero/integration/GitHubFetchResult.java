@@ -0,0 +1,61 @@
+package com.hero.integration;
+
+import com.hero.biz.dto.GitHubRepoDTO;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of a (possibly conditional) repository fetch from the GitHub API,
+ * carrying the parsed body together with the response validators.
+ *
+ * @Author Andrea
+ * @Date 2025/12/3 09:30
+ * @Version 1.0
+ *
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GitHubFetchResult {
+
+    public enum Status {
+        /**
+         * 200, the body holds the current repository details
+         */
+        OK,
+        /**
+         * 304, the stored copy matching the sent validators is still current
+         */
+        NOT_MODIFIED,
+        /**
+         * 404, the repository does not exist
+         */
+        NOT_FOUND
+    }
+
+    private final Status status;
+
+    private final GitHubRepoDTO body;
+
+    /**
+     * Value of the upstream {@code ETag} header, to be sent back as {@code If-None-Match}
+     */
+    private final String etag;
+
+    /**
+     * Value of the upstream {@code Last-Modified} header, to be sent back as {@code If-Modified-Since}
+     */
+    private final String lastModified;
+
+    public static GitHubFetchResult ok(GitHubRepoDTO body, String etag, String lastModified) {
+        return new GitHubFetchResult(Status.OK, body, etag, lastModified);
+    }
+
+    public static GitHubFetchResult notModified(String etag, String lastModified) {
+        return new GitHubFetchResult(Status.NOT_MODIFIED, null, etag, lastModified);
+    }
+
+    public static GitHubFetchResult notFound() {
+        return new GitHubFetchResult(Status.NOT_FOUND, null, null, null);
+    }
+}
@@ -0,0 +1,253 @@
+package com.hero.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hero.biz.dto.GitHubRepoDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Collects repository fetches over a short window and sends them to the GitHub GraphQL endpoint
+ * as a single aliased query, then fans the results back out to the waiting callers.
+ * Active when {@code github.api.transport} is {@code graphql}. At most {@code github.graphql.max-queued-batches}
+ * batches wait for a request thread; batches over that fail at once with a {@link RejectedExecutionException}.
+ *
+ * @Author Andrea
+ * @Date 2025/12/8 10:05
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "github.api.transport", havingValue = "graphql")
+public class GitHubGraphQlBatcher {
+
+    private static final String REPOSITORY_FIELDS = "{ nameWithOwner description url stargazerCount createdAt }";
+
+    private final RestTemplate restTemplate;
+
+    private final String graphQlUrl;
+
+    private final GitHubTokenPool tokenPool;
+
+    private final long windowMillis;
+
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+
+    private List<PendingFetch> pending = new ArrayList<>();
+
+    private final ScheduledExecutorService windowTimer = Executors.newSingleThreadScheduledExecutor(
+            r -> daemon(r, "github-graphql-window"));
+
+    private final ExecutorService requestExecutor;
+
+    public GitHubGraphQlBatcher(@Qualifier("gitHubRestTemplate") RestTemplate restTemplate,
+                                @Value("${github.graphql.url:${github.api.base-url:https://api.github.com}/graphql}") String graphQlUrl,
+                                GitHubTokenPool tokenPool,
+                                @Value("${github.graphql.window:10ms}") Duration window,
+                                @Value("${github.graphql.max-batch-size:50}") int maxBatchSize,
+                                @Value("${github.graphql.max-concurrent-requests:4}") int maxConcurrentRequests,
+                                @Value("${github.graphql.max-queued-batches:100}") int maxQueuedBatches) {
+        this.restTemplate = restTemplate;
+        this.graphQlUrl = graphQlUrl;
+        this.tokenPool = tokenPool;
+        this.windowMillis = window.toMillis();
+        this.maxBatchSize = maxBatchSize;
+        this.requestExecutor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedBatches), r -> daemon(r, "github-graphql-request"));
+    }
+
+    /**
+     * Queues a repository fetch for the next batch.
+     *
+     * @param owner the username of the repository owner
+     * @param repo the name of the repository
+     * @return a future completed with the repository details, or with {@code null} if the repository is not found
+     */
+    public CompletableFuture<GitHubRepoDTO> fetch(String owner, String repo) {
+        PendingFetch fetch = new PendingFetch(owner, repo);
+        List<PendingFetch> full = null;
+        synchronized (lock) {
+            pending.add(fetch);
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                // first fetch of a new window
+                windowTimer.schedule(this::flushWindow, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return fetch.future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        windowTimer.shutdownNow();
+        requestExecutor.shutdownNow();
+        List<PendingFetch> remaining;
+        synchronized (lock) {
+            remaining = drain();
+        }
+        remaining.forEach(fetch -> fetch.future.completeExceptionally(new RejectedExecutionException("GraphQL batcher stopped")));
+    }
+
+    private void flushWindow() {
+        List<PendingFetch> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private List<PendingFetch> drain() {
+        List<PendingFetch> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void dispatch(List<PendingFetch> batch) {
+        try {
+            requestExecutor.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(fetch -> fetch.future.completeExceptionally(e));
+        }
+    }
+
+    private void execute(List<PendingFetch> batch) {
+        // the same repository may be requested several times within one window
+        Map<String, List<PendingFetch>> byRepository = new LinkedHashMap<>();
+        for (PendingFetch fetch : batch) {
+            byRepository.computeIfAbsent(fetch.owner + "/" + fetch.repo, k -> new ArrayList<>()).add(fetch);
+        }
+        List<List<PendingFetch>> aliases = new ArrayList<>(byRepository.values());
+        try {
+            JsonNode response = post(aliases);
+            JsonNode data = response == null ? null : response.path("data");
+            for (int i = 0; i < aliases.size(); i++) {
+                JsonNode repository = data == null ? null : data.get("r" + i);
+                GitHubRepoDTO dto = toDto(repository);
+                if (dto == null && !isNotFound(response, "r" + i)) {
+                    fail(aliases.get(i), new RestClientException("GitHub GraphQL returned no data for "
+                            + aliases.get(i).get(0).owner + "/" + aliases.get(i).get(0).repo));
+                } else {
+                    aliases.get(i).forEach(fetch -> fetch.future.complete(dto));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("GitHub GraphQL batch of {} repositories failed", aliases.size(), e);
+            aliases.forEach(group -> fail(group, e));
+        }
+    }
+
+    private JsonNode post(List<List<PendingFetch>> aliases) {
+        StringBuilder declarations = new StringBuilder();
+        StringBuilder selections = new StringBuilder();
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (int i = 0; i < aliases.size(); i++) {
+            PendingFetch fetch = aliases.get(i).get(0);
+            declarations.append(i == 0 ? "" : ", ").append("$o").append(i).append(": String!, $n").append(i).append(": String!");
+            selections.append(" r").append(i).append(": repository(owner: $o").append(i)
+                    .append(", name: $n").append(i).append(") ").append(REPOSITORY_FIELDS);
+            variables.put("o" + i, fetch.owner);
+            variables.put("n" + i, fetch.repo);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("query", "query(" + declarations + ") {" + selections + " }");
+        body.put("variables", variables);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        String token = tokenPool.acquire(GitHubTokenPool.GRAPHQL);
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        try {
+            ResponseEntity<JsonNode> response = restTemplate.exchange(graphQlUrl, HttpMethod.POST, new HttpEntity<>(body, headers), JsonNode.class);
+            tokenPool.update(token, GitHubTokenPool.GRAPHQL, response.getHeaders());
+            return response.getBody();
+        } catch (HttpClientErrorException.Forbidden | HttpClientErrorException.TooManyRequests e) {
+            // parks the token so that the next batch goes out with another one
+            tokenPool.onRejected(token, GitHubTokenPool.GRAPHQL, e.getResponseHeaders());
+            throw e;
+        }
+    }
+
+    /**
+     * Maps a GraphQL repository node onto the REST-shaped DTO used by the rest of the application.
+     */
+    private static GitHubRepoDTO toDto(JsonNode repository) {
+        if (repository == null || repository.isNull()) {
+            return null;
+        }
+        GitHubRepoDTO dto = new GitHubRepoDTO();
+        dto.setFullName(textOrNull(repository, "nameWithOwner"));
+        dto.setDescription(textOrNull(repository, "description"));
+        String url = textOrNull(repository, "url");
+        dto.setCloneUrl(url == null ? null : url + ".git");
+        dto.setStargazersCount(repository.path("stargazerCount").asInt());
+        String createdAt = textOrNull(repository, "createdAt");
+        dto.setCreatedAt(createdAt == null ? null : Instant.parse(createdAt));
+        return dto;
+    }
+
+    private static boolean isNotFound(JsonNode response, String alias) {
+        if (response == null) {
+            return false;
+        }
+        for (JsonNode error : response.path("errors")) {
+            if ("NOT_FOUND".equals(error.path("type").asText()) && alias.equals(error.path("path").path(0).asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static void fail(List<PendingFetch> group, Throwable e) {
+        group.forEach(fetch -> fetch.future.completeExceptionally(e));
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class PendingFetch {
+        private final String owner;
+        private final String repo;
+        private final CompletableFuture<GitHubRepoDTO> future = new CompletableFuture<>();
+
+        private PendingFetch(String owner, String repo) {
+            this.owner = owner;
+            this.repo = repo;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hero.integration;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Reads GitHub's pagination {@code Link} header, e.g.
+ * {@code <https://api.github.com/user/1/repos?page=2>; rel="next", <https://api.github.com/user/1/repos?page=9>; rel="last"}.
+ *
+ * @Author Andrea
+ * @Date 2025/12/18 10:10
+ * @Version 1.0
+ *
+ */
+final class GitHubLinkHeader {
+
+    private GitHubLinkHeader() {
+    }
+
+    /**
+     * Returns the page number of the {@code rel="last"} link.
+     *
+     * @param linkHeader the header value, may be {@code null}
+     * @return the last page, or {@code 1} when there is no last link (a single page, or the last page itself)
+     */
+    static int lastPage(String linkHeader) {
+        if (!StringUtils.hasText(linkHeader)) {
+            return 1;
+        }
+        for (String link : linkHeader.split(",")) {
+            int end = link.indexOf('>');
+            int start = link.indexOf('<');
+            if (start < 0 || end < start || !isRel(link.substring(end + 1), "last")) {
+                continue;
+            }
+            String page = UriComponentsBuilder.fromUriString(link.substring(start + 1, end)).build()
+                    .getQueryParams().getFirst("page");
+            try {
+                return page == null ? 1 : Math.max(1, Integer.parseInt(page));
+            } catch (NumberFormatException e) {
+                return 1;
+            }
+        }
+        return 1;
+    }
+
+    private static boolean isRel(String params, String rel) {
+        for (String param : params.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.startsWith("rel=")) {
+                String value = trimmed.substring(4).replace("\"", "");
+                for (String candidate : value.split(" ")) {
+                    if (candidate.equals(rel)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
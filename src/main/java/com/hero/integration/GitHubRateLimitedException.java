@@ -0,0 +1,26 @@
+package com.hero.integration;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when every configured GitHub token is parked on the rate limit of a resource; the request is
+ * refused locally until the earliest reset instead of being sent anonymously.
+ *
+ * @Author Andrea
+ * @Date 2025/12/9 10:00
+ * @Version 1.0
+ *
+ */
+@Getter
+public class GitHubRateLimitedException extends RuntimeException {
+
+    private final String resource;
+
+    private final long resetEpochSecond;
+
+    public GitHubRateLimitedException(String resource, long resetEpochSecond) {
+        super(String.format("Every GitHub token is rate limited for %s until %d", resource, resetEpochSecond));
+        this.resource = resource;
+        this.resetEpochSecond = resetEpochSecond;
+    }
+}
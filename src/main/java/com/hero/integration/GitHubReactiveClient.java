@@ -0,0 +1,136 @@
+package com.hero.integration;
+
+import com.hero.biz.dto.GitHubRepoDTO;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+
+/**
+ * Non-blocking GitHub API client built on {@code WebClient} and Reactor Netty.
+ * Mirrors the REST path of {@link GitHubClientService}: conditional requests, token pool scheduling and
+ * 404/304 handling, without holding a thread while the request is in flight.
+ * Active when {@code github.api.non-blocking} is {@code true}.
+ *
+ * @Author Andrea
+ * @Date 2025/12/12 10:30
+ * @Version 1.0
+ *
+ */
+@Component
+@ConditionalOnProperty(name = "github.api.non-blocking", havingValue = "true")
+public class GitHubReactiveClient {
+
+    private final ConnectionProvider connectionProvider;
+
+    private final WebClient webClient;
+
+    private final GitHubTokenPool tokenPool;
+
+    public GitHubReactiveClient(@Value("${github.api.base-url:https://api.github.com}") String baseUrl,
+                                GitHubTokenPool tokenPool,
+                                @Value("${github.http.max-total:100}") int maxConnections,
+                                @Value("${github.http.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${github.http.read-timeout:5s}") Duration readTimeout,
+                                @Value("${github.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+                                @Value("${github.http.idle-timeout:30s}") Duration idleTimeout) {
+        this.tokenPool = tokenPool;
+        this.connectionProvider = ConnectionProvider.builder("github")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(idleTimeout)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(true);
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Fetches the details of a specified GitHub repository, conditionally on the validators of a stored copy.
+     *
+     * @param owner the username of the repository owner
+     * @param repo the name of the repository
+     * @param etag the stored {@code ETag}, sent as {@code If-None-Match}; may be {@code null}
+     * @param lastModified the stored {@code Last-Modified}, sent as {@code If-Modified-Since}; may be {@code null}
+     * @return a {@code Mono} emitting the fetch result
+     */
+    public Mono<GitHubFetchResult> fetchRepoDetails(String owner, String repo, String etag, String lastModified) {
+        return fetch(owner, repo, etag, lastModified, 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    private Mono<GitHubFetchResult> fetch(String owner, String repo, String etag, String lastModified, int attempt) {
+        return Mono.defer(() -> {
+            String token = tokenPool.acquire();
+            return webClient.get()
+                    .uri("/repos/{owner}/{repo}", owner, repo)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .headers(headers -> {
+                        if (StringUtils.hasText(etag)) {
+                            headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+                        }
+                        if (StringUtils.hasText(lastModified)) {
+                            headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                        }
+                        if (token != null) {
+                            headers.setBearerAuth(token);
+                        }
+                    })
+                    .exchangeToMono(response -> handle(response, token, owner, repo, etag, lastModified, attempt));
+        });
+    }
+
+    private Mono<GitHubFetchResult> handle(ClientResponse response, String token, String owner, String repo,
+                                           String etag, String lastModified, int attempt) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        HttpStatus status = response.statusCode();
+        if (status == HttpStatus.FORBIDDEN || status == HttpStatus.TOO_MANY_REQUESTS) {
+            // rate limited: the token is parked, retry with the next best one
+            if (tokenPool.onRejected(token, headers) && token != null && attempt + 1 < tokenPool.size()) {
+                return response.releaseBody().then(fetch(owner, repo, etag, lastModified, attempt + 1));
+            }
+            return response.createException().flatMap(Mono::error);
+        }
+        tokenPool.update(token, headers);
+        String newEtag = headers.getFirst(HttpHeaders.ETAG);
+        String newLastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (status == HttpStatus.NOT_MODIFIED) {
+            return response.releaseBody().thenReturn(GitHubFetchResult.notModified(
+                    newEtag != null ? newEtag : etag, newLastModified != null ? newLastModified : lastModified));
+        }
+        if (status == HttpStatus.NOT_FOUND) {
+            return response.releaseBody().thenReturn(GitHubFetchResult.notFound());
+        }
+        if (status.is2xxSuccessful()) {
+            return response.bodyToMono(GitHubRepoDTO.class)
+                    .map(body -> GitHubFetchResult.ok(body, newEtag, newLastModified))
+                    // a success without a body is an upstream fault, not a missing repository
+                    .switchIfEmpty(Mono.error(() -> new RestClientException("GitHub answered " + status.value()
+                            + " without a body for " + owner + "/" + repo)));
+        }
+        return response.createException().flatMap(Mono::error);
+    }
+}
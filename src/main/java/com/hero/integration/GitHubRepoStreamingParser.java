@@ -0,0 +1,169 @@
+package com.hero.integration;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hero.biz.dto.GitHubRepoDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Token-level parser for {@code GET /repos/{owner}/{repo}} bodies, reading straight from the response stream.
+ * Only the five fields {@link GitHubRepoDTO} needs are read; every other value, nested objects such as
+ * {@code owner}, {@code license} and {@code permissions} included, is skipped without being decoded into a string.
+ * {@code created_at} is parsed from the parser's character buffer directly into an {@link Instant}.
+ * Listing bodies ({@code GET /users/{owner}/repos}) are read the same way, one array element at a time.
+ * Used as the {@code RestTemplate} response extractor; error statuses are still handled by the error handler.
+ *
+ * @Author Andrea
+ * @Date 2025/12/15 10:20
+ * @Version 1.0
+ *
+ */
+public class GitHubRepoStreamingParser implements ResponseExtractor<ResponseEntity<GitHubRepoDTO>> {
+
+    /**
+     * Leaves the response stream open, as documented on {@link #parse} and {@link #parseList}: the
+     * {@code RestTemplate} closes the response itself
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    /**
+     * Length of GitHub's timestamp format, {@code 2012-10-19T15:02:57Z}
+     */
+    private static final int TIMESTAMP_LENGTH = 20;
+
+    @Override
+    public ResponseEntity<GitHubRepoDTO> extractData(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return new ResponseEntity<>(response.getHeaders(), HttpStatus.NOT_MODIFIED);
+        }
+        return new ResponseEntity<>(parse(response.getBody()), response.getHeaders(), response.getStatusCode());
+    }
+
+    /**
+     * Parses a repository body.
+     *
+     * @param in the response body, read up to the end of the top-level object; not closed
+     * @return the projected fields, or {@code null} for an empty body
+     */
+    public GitHubRepoDTO parse(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            return readRepository(parser);
+        }
+    }
+
+    /**
+     * Parses a repository listing body, e.g. {@code GET /users/{owner}/repos}.
+     *
+     * @param in the response body, read up to the end of the top-level array; not closed
+     * @return the projected fields of every listed repository, empty for an empty body
+     */
+    public List<GitHubRepoDTO> parseList(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return Collections.emptyList();
+            }
+            List<GitHubRepoDTO> repositories = new ArrayList<>();
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY && token != null; token = parser.nextToken()) {
+                if (token == JsonToken.START_OBJECT) {
+                    repositories.add(readRepository(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return repositories;
+        }
+    }
+
+    /**
+     * Response extractor for repository listings, see {@link #parseList(InputStream)}.
+     */
+    public ResponseExtractor<ResponseEntity<List<GitHubRepoDTO>>> listExtractor() {
+        return response -> new ResponseEntity<>(parseList(response.getBody()), response.getHeaders(), response.getStatusCode());
+    }
+
+    /**
+     * Reads the fields of one repository object; the parser is positioned on its {@code START_OBJECT}
+     * and left on its {@code END_OBJECT}.
+     */
+    private static GitHubRepoDTO readRepository(JsonParser parser) throws IOException {
+        GitHubRepoDTO dto = new GitHubRepoDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            // field names come from the factory's symbol table, so matching them does not allocate
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "full_name":
+                    dto.setFullName(textOrNull(parser, value));
+                    break;
+                case "description":
+                    dto.setDescription(textOrNull(parser, value));
+                    break;
+                case "clone_url":
+                    dto.setCloneUrl(textOrNull(parser, value));
+                    break;
+                case "stargazers_count":
+                    dto.setStargazersCount(value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : 0);
+                    break;
+                case "created_at":
+                    dto.setCreatedAt(value == JsonToken.VALUE_STRING ? parseInstant(parser) : null);
+                    break;
+                default:
+                    // no-op for scalars, skips the whole subtree for objects and arrays
+                    parser.skipChildren();
+            }
+        }
+        return dto;
+    }
+
+    private static String textOrNull(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm:ssZ} by hand; any other ISO-8601 instant goes through {@link DateTimeFormatter#ISO_INSTANT}.
+     */
+    static Instant parseInstant(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if (length == TIMESTAMP_LENGTH && chars[offset + 4] == '-' && chars[offset + 7] == '-'
+                && chars[offset + 10] == 'T' && chars[offset + 13] == ':' && chars[offset + 16] == ':'
+                && chars[offset + 19] == 'Z') {
+            long epochDay = LocalDate.of(digits(chars, offset, 4), digits(chars, offset + 5, 2),
+                    digits(chars, offset + 8, 2)).toEpochDay();
+            long secondOfDay = digits(chars, offset + 11, 2) * 3600L + digits(chars, offset + 14, 2) * 60L
+                    + digits(chars, offset + 17, 2);
+            return Instant.ofEpochSecond(epochDay * 86_400L + secondOfDay);
+        }
+        return DateTimeFormatter.ISO_INSTANT.parse(CharBuffer.wrap(chars, offset, length), Instant::from);
+    }
+
+    private static int digits(char[] chars, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Malformed timestamp: " + new String(chars, from, count));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,376 @@
+package com.hero.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of GitHub API tokens scheduled by their remaining rate-limit budget.
+ * Budgets are learned from the {@code X-RateLimit-*} headers of every response and kept per rate-limit resource
+ * ({@code core} for REST, {@code graphql} for GraphQL), keyed on {@code X-RateLimit-Resource} when GitHub sends it;
+ * a token whose budget is exhausted is parked until its reset time. Malformed headers are ignored.
+ * With no tokens configured, requests are sent anonymously; once every configured token is parked, requests fail
+ * fast with {@link GitHubRateLimitedException} instead of falling back to the far smaller anonymous budget.
+ *
+ * @Author Andrea
+ * @Date 2025/12/9 10:00
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Component
+public class GitHubTokenPool implements MeterBinder {
+
+    static final String HEADER_LIMIT = "X-RateLimit-Limit";
+    static final String HEADER_REMAINING = "X-RateLimit-Remaining";
+    static final String HEADER_RESET = "X-RateLimit-Reset";
+    static final String HEADER_RESOURCE = "X-RateLimit-Resource";
+
+    /**
+     * Rate-limit resource of REST API calls
+     */
+    public static final String CORE = "core";
+
+    /**
+     * Rate-limit resource of GraphQL API calls, budgeted separately from REST ones
+     */
+    public static final String GRAPHQL = "graphql";
+
+    /**
+     * Authenticated budget per hour, assumed until the first response tells otherwise
+     */
+    private static final int DEFAULT_LIMIT = 5000;
+
+    /**
+     * Back-off of a secondary rate limit whose {@code Retry-After} cannot be parsed, as advised by GitHub
+     */
+    private static final long DEFAULT_RETRY_AFTER_MILLIS = 60_000L;
+
+    private final List<TokenState> tokens;
+
+    private final Clock clock;
+
+    private final AtomicLong exhausted = new AtomicLong();
+
+    private Counter exhaustedCounter;
+
+    @Autowired
+    public GitHubTokenPool(@Value("${github.api.token:}") String token,
+                           @Value("${github.api.tokens:}") String[] tokens) {
+        this(merge(token, tokens), Clock.systemUTC());
+    }
+
+    GitHubTokenPool(Collection<String> tokens, Clock clock) {
+        this.clock = clock;
+        List<TokenState> states = new ArrayList<>();
+        for (String token : tokens) {
+            states.add(new TokenState(token));
+        }
+        this.tokens = Collections.unmodifiableList(states);
+    }
+
+    /**
+     * Picks the usable token with the most remaining {@code core} budget and reserves one request from it.
+     *
+     * @return the token to send, or {@code null} to send the request anonymously
+     * @throws GitHubRateLimitedException if every configured token is parked
+     */
+    public String acquire() {
+        return acquire(CORE);
+    }
+
+    /**
+     * Picks the usable token with the most remaining budget for {@code resource} and reserves one request from it.
+     *
+     * @param resource the rate-limit resource the request is charged to, {@link #CORE} or {@link #GRAPHQL}
+     * @return the token to send, or {@code null} to send the request anonymously
+     * @throws GitHubRateLimitedException if every configured token is parked
+     */
+    public String acquire(String resource) {
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        long now = clock.millis();
+        TokenState best = null;
+        Budget bestBudget = null;
+        long nextReset = Long.MAX_VALUE;
+        for (TokenState state : tokens) {
+            Budget budget = state.budget(resource);
+            budget.unparkIfReset(now);
+            if (budget.isParked(now)) {
+                nextReset = Math.min(nextReset, budget.resetAtMillis);
+            } else if (bestBudget == null || budget.remaining.get() > bestBudget.remaining.get()) {
+                best = state;
+                bestBudget = budget;
+            }
+        }
+        if (best == null) {
+            if (exhausted.getAndIncrement() == 0) {
+                log.warn("All {} GitHub tokens are exhausted for {}, failing requests until {}",
+                        tokens.size(), resource, new Date(nextReset));
+            }
+            if (exhaustedCounter != null) {
+                exhaustedCounter.increment();
+            }
+            throw new GitHubRateLimitedException(resource, nextReset / 1000L);
+        }
+        if (exhausted.get() > 0 && exhausted.getAndSet(0) > 0) {
+            log.info("GitHub tokens available again for {}", resource);
+        }
+        bestBudget.remaining.decrementAndGet();
+        return best.token;
+    }
+
+    /**
+     * Records the rate-limit headers of a {@code core} response sent with {@code token}.
+     *
+     * @param token the token the request was sent with, may be {@code null} for anonymous requests
+     * @param headers the response headers, may be {@code null}
+     */
+    public void update(String token, HttpHeaders headers) {
+        update(token, CORE, headers);
+    }
+
+    /**
+     * Records the rate-limit headers of a response sent with {@code token}.
+     *
+     * @param token the token the request was sent with, may be {@code null} for anonymous requests
+     * @param resource the rate-limit resource the request was charged to, unless the response names another one
+     * @param headers the response headers, may be {@code null}
+     */
+    public void update(String token, String resource, HttpHeaders headers) {
+        TokenState state = find(token);
+        if (state == null || headers == null) {
+            return;
+        }
+        Budget budget = state.budget(resourceOf(resource, headers));
+        Long limit = parseLong(headers.getFirst(HEADER_LIMIT));
+        Long remaining = parseLong(headers.getFirst(HEADER_REMAINING));
+        Long reset = parseLong(headers.getFirst(HEADER_RESET));
+        if (limit != null && limit > 0) {
+            budget.limit = (int) Math.min(Integer.MAX_VALUE, limit);
+        }
+        if (reset != null) {
+            budget.resetAtMillis = reset * 1000L;
+        }
+        if (remaining != null) {
+            budget.remaining.set((int) Math.max(0, Math.min(Integer.MAX_VALUE, remaining)));
+            if (remaining <= 0) {
+                park(state, budget);
+            }
+        }
+    }
+
+    /**
+     * Handles a 403/429 answer to a {@code core} request sent with {@code token}.
+     *
+     * @see #onRejected(String, String, HttpHeaders)
+     */
+    public boolean onRejected(String token, HttpHeaders headers) {
+        return onRejected(token, CORE, headers);
+    }
+
+    /**
+     * Handles a 403/429 answer for {@code token}: when the response signals an exhausted rate limit,
+     * the token is parked until its reset time.
+     *
+     * @return {@code true} if the rejection was caused by the rate limit and another token may be tried
+     */
+    public boolean onRejected(String token, String resource, HttpHeaders headers) {
+        TokenState state = find(token);
+        if (state == null || headers == null) {
+            return false;
+        }
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            // secondary rate limit: back off for the advertised delay
+            Budget budget = state.budget(resourceOf(resource, headers));
+            Long resumeAt = retryAfterMillis(retryAfter);
+            budget.resetAtMillis = resumeAt != null ? resumeAt : clock.millis() + DEFAULT_RETRY_AFTER_MILLIS;
+            park(state, budget);
+            return true;
+        }
+        update(token, resource, headers);
+        Long remaining = parseLong(headers.getFirst(HEADER_REMAINING));
+        return remaining != null && remaining <= 0;
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * Snapshot of the per-token budgets, one per rate-limit resource; tokens are identified by their last four
+     * characters only.
+     */
+    public List<TokenBudget> budgets() {
+        long now = clock.millis();
+        List<TokenBudget> budgets = new ArrayList<>();
+        for (TokenState state : tokens) {
+            state.budgets.forEach((resource, budget) -> budgets.add(new TokenBudget(state.id(), resource, budget.limit,
+                    Math.max(0, budget.remaining.get()), budget.resetAtMillis / 1000L, budget.isParked(now))));
+        }
+        return budgets;
+    }
+
+    /**
+     * Publishes the remaining budget and parked state of every token, tagged by its masked id and resource,
+     * and counts the requests refused because every token was parked.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TokenState state : tokens) {
+            for (String resource : Arrays.asList(CORE, GRAPHQL)) {
+                Budget budget = state.budget(resource);
+                Gauge.builder("github.ratelimit.remaining", budget, b -> Math.max(0, b.remaining.get()))
+                        .description("Remaining GitHub requests in the current rate-limit window")
+                        .tag("token", state.id())
+                        .tag("resource", resource)
+                        .register(registry);
+                Gauge.builder("github.ratelimit.parked", budget, b -> b.isParked(clock.millis()) ? 1 : 0)
+                        .description("Whether the token is parked until its rate-limit reset")
+                        .tag("token", state.id())
+                        .tag("resource", resource)
+                        .register(registry);
+            }
+        }
+        exhaustedCounter = Counter.builder("github.ratelimit.exhausted")
+                .description("GitHub requests refused because every token was parked")
+                .register(registry);
+    }
+
+    private void park(TokenState state, Budget budget) {
+        if (!budget.parked) {
+            log.info("GitHub token {} exhausted, parked until {}", state.id(), new Date(budget.resetAtMillis));
+        }
+        budget.parked = true;
+    }
+
+    /**
+     * {@code Retry-After} holds either a number of seconds or an HTTP date.
+     *
+     * @return the instant requests may resume at, or {@code null} if the value is malformed
+     */
+    private Long retryAfterMillis(String value) {
+        Long seconds = parseLong(value);
+        if (seconds != null) {
+            return clock.millis() + Math.max(0, seconds) * 1000L;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            log.debug("Ignoring malformed Retry-After header: {}", value);
+            return null;
+        }
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed rate-limit header value: {}", value);
+            return null;
+        }
+    }
+
+    private static String resourceOf(String resource, HttpHeaders headers) {
+        String named = headers.getFirst(HEADER_RESOURCE);
+        return StringUtils.hasText(named) ? named.trim() : resource;
+    }
+
+    private TokenState find(String token) {
+        if (token == null) {
+            return null;
+        }
+        for (TokenState state : tokens) {
+            if (state.token.equals(token)) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    private static Collection<String> merge(String token, String[] tokens) {
+        Set<String> merged = new LinkedHashSet<>();
+        if (StringUtils.hasText(token)) {
+            merged.add(token.trim());
+        }
+        if (tokens != null) {
+            for (String t : tokens) {
+                if (StringUtils.hasText(t)) {
+                    merged.add(t.trim());
+                }
+            }
+        }
+        return merged;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TokenBudget {
+        private final String id;
+        private final String resource;
+        private final int limit;
+        private final int remaining;
+        private final long resetEpochSecond;
+        private final boolean parked;
+    }
+
+    private static final class TokenState {
+        private final String token;
+        private final Map<String, Budget> budgets = new ConcurrentSkipListMap<>();
+
+        private TokenState(String token) {
+            this.token = token;
+            budgets.put(CORE, new Budget());
+            budgets.put(GRAPHQL, new Budget());
+        }
+
+        private Budget budget(String resource) {
+            return budgets.computeIfAbsent(resource, r -> new Budget());
+        }
+
+        private String id() {
+            return "..." + (token.length() <= 4 ? token : token.substring(token.length() - 4));
+        }
+    }
+
+    private static final class Budget {
+        private final AtomicInteger remaining = new AtomicInteger(DEFAULT_LIMIT);
+        private volatile int limit = DEFAULT_LIMIT;
+        private volatile long resetAtMillis;
+        private volatile boolean parked;
+
+        private boolean isParked(long now) {
+            return parked && now < resetAtMillis;
+        }
+
+        private void unparkIfReset(long now) {
+            if (parked && now >= resetAtMillis) {
+                parked = false;
+                remaining.set(limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.hero.integration;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Verifies the {@code X-Hub-Signature-256} header GitHub sends with webhook deliveries:
+ * {@code sha256=} followed by the hex HMAC-SHA256 of the raw request body, keyed with the webhook secret.
+ *
+ * @Author Andrea
+ * @Date 2025/12/22 10:10
+ * @Version 1.0
+ *
+ */
+public final class GitHubWebhookSignature {
+
+    private static final String PREFIX = "sha256=";
+
+    private GitHubWebhookSignature() {
+    }
+
+    /**
+     * Whether {@code signatureHeader} is the signature of {@code body} under {@code secret}.
+     * The comparison takes the same time wherever the signatures differ.
+     *
+     * @param secret the webhook secret; a blank secret matches nothing
+     * @param body the raw request body, exactly as received
+     * @param signatureHeader the {@code X-Hub-Signature-256} header value, may be {@code null}
+     */
+    public static boolean matches(String secret, byte[] body, String signatureHeader) {
+        if (!StringUtils.hasText(secret) || signatureHeader == null || !signatureHeader.startsWith(PREFIX)) {
+            return false;
+        }
+        byte[] signature;
+        try {
+            signature = BaseEncoding.base16().lowerCase().decode(signatureHeader.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(hmac(secret, body), signature);
+    }
+
+    /**
+     * Computes the {@code X-Hub-Signature-256} header value of {@code body}, e.g. to post signed payloads locally.
+     *
+     * @throws IllegalArgumentException if {@code secret} is blank, which could never be verified
+     */
+    public static String sign(String secret, byte[] body) {
+        if (!StringUtils.hasText(secret)) {
+            throw new IllegalArgumentException("Expected a non-blank webhook secret");
+        }
+        return PREFIX + BaseEncoding.base16().lowerCase().encode(hmac(secret, body));
+    }
+
+    private static byte[] hmac(String secret, byte[] body) {
+        return Hashing.hmacSha256(secret.getBytes(StandardCharsets.UTF_8)).hashBytes(body).asBytes();
+    }
+}
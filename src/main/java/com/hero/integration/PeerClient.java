@@ -0,0 +1,235 @@
+package com.hero.integration;
+
+import com.hero.biz.RepositoryResponse;
+import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.util.ConsistentHashRing;
+import com.hero.util.GitHubUnavailableException;
+import com.hero.util.RepoNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Client for the other instances of a cluster, so that each repository is fetched from GitHub by one instance only.
+ * Peers are a static list ({@code github.peers.urls}, this instance included as {@code github.peers.self});
+ * owner/repo keys are assigned to peers on a consistent hash ring, identical on every instance built from the
+ * same list. A non-owner asks the owning peer's internal endpoint instead of GitHub. A peer that cannot be reached
+ * (connection refused, timeout) is skipped for {@code github.peers.down-backoff}, during which its keys are fetched
+ * locally; a peer that answers with an error stays in use.
+ *
+ * @Author Andrea
+ * @Date 2025/12/21 10:40
+ * @Version 1.0
+ *
+ */
+@Component
+public class PeerClient {
+
+    /**
+     * Set to {@code true} on peer responses served from storage because GitHub was unavailable to the peer
+     */
+    public static final String STALE_HEADER = "X-Data-Stale";
+
+    /**
+     * Set on webhook deliveries forwarded to the owning peer, which applies them instead of forwarding them again
+     */
+    public static final String FORWARDED_HEADER = "X-Peer-Forwarded";
+
+    private static final String PEER_PATH = "/internal/peer/repositories/";
+
+    private static final String WEBHOOK_PATH = "/webhooks/github";
+
+    private final RestTemplate restTemplate;
+
+    /**
+     * Pool the non-blocking lookup path waits on peers from, apart from the persistence pool
+     */
+    private final Executor peerExecutor;
+
+    private final boolean enabled;
+
+    private final String self;
+
+    private final ConsistentHashRing<String> ring;
+
+    private final long downBackoffMillis;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Peers that failed recently, with the time until which they are skipped
+     */
+    private final Map<String, Long> downUntil = new ConcurrentHashMap<>();
+
+    public PeerClient(@Qualifier("peerRestTemplate") RestTemplate restTemplate,
+                      @Qualifier("peerExecutor") Executor peerExecutor,
+                      @Value("${github.peers.enabled:false}") boolean enabled,
+                      @Value("${github.peers.self:}") String self,
+                      @Value("${github.peers.urls:}") String[] urls,
+                      @Value("${github.peers.virtual-nodes:100}") int virtualNodes,
+                      @Value("${github.peers.down-backoff:10s}") Duration downBackoff,
+                      MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.peerExecutor = peerExecutor;
+        this.enabled = enabled;
+        this.self = normalize(self);
+        this.downBackoffMillis = downBackoff.toMillis();
+        this.meterRegistry = meterRegistry;
+        List<String> peers = new ArrayList<>();
+        for (String url : urls) {
+            if (StringUtils.hasText(url)) {
+                peers.add(normalize(url));
+            }
+        }
+        if (enabled && !peers.contains(this.self)) {
+            throw new IllegalStateException("github.peers.self " + self + " is not one of github.peers.urls " + Arrays.toString(urls));
+        }
+        this.ring = enabled ? new ConsistentHashRing<>(peers, virtualNodes) : null;
+    }
+
+    /**
+     * Whether another instance owns the repository and is currently considered up.
+     */
+    public boolean isRemote(String owner, String repoName) {
+        if (!enabled) {
+            return false;
+        }
+        String peer = ownerOf(owner, repoName);
+        if (peer.equals(self)) {
+            return false;
+        }
+        Long until = downUntil.get(peer);
+        return until == null || until < System.currentTimeMillis();
+    }
+
+    /**
+     * Asks the owning peer for a repository. The peer answers from its own cache, storage or GitHub, exactly as
+     * for a local lookup, but never forwards the request again.
+     *
+     * @return the repository details, flagged {@link RepositoryInfo#isStale() stale} if the peer served a fallback copy
+     * @throws RepoNotFoundException if the repository is not found on GitHub
+     * @throws GitHubUnavailableException if GitHub is unavailable to the peer and it has nothing stored
+     * @throws PeerUnavailableException if the peer cannot answer
+     */
+    public RepositoryInfo fetch(String owner, String repoName) {
+        String peer = ownerOf(owner, repoName);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ResponseEntity<RepositoryResponse> response = restTemplate.getForEntity(
+                    peer + PEER_PATH + "{owner}/{repoName}", RepositoryResponse.class, owner, repoName);
+            RepositoryResponse body = response.getBody();
+            if (body == null) {
+                throw new PeerUnavailableException(peer, "empty response", null);
+            }
+            downUntil.remove(peer);
+            record(sample, peer, "200");
+            RepositoryInfo info = toRepositoryInfo(owner, repoName, body);
+            return "true".equals(response.getHeaders().getFirst(STALE_HEADER)) ? info.asStale() : info;
+        } catch (HttpClientErrorException.NotFound e) {
+            record(sample, peer, "404");
+            throw new RepoNotFoundException(owner, repoName);
+        } catch (HttpServerErrorException.ServiceUnavailable e) {
+            // the peer is up but GitHub is not, fetching locally would not fare any better
+            record(sample, peer, "503");
+            throw new GitHubUnavailableException(owner, repoName, e);
+        } catch (ResourceAccessException e) {
+            // connection refused, timeout: skip the peer for a while
+            downUntil.put(peer, System.currentTimeMillis() + downBackoffMillis);
+            record(sample, peer, "error");
+            throw new PeerUnavailableException(peer, e.getMessage(), e);
+        } catch (RestClientException e) {
+            // the peer answered with an error: fetch this repository locally, but keep using the peer
+            record(sample, peer, "error");
+            throw new PeerUnavailableException(peer, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #fetch}: the call runs on the peer pool.
+     *
+     * @return a future completed like {@link #fetch}, or with a {@code PeerUnavailableException} if the pool is full
+     */
+    public CompletableFuture<RepositoryInfo> fetchAsync(String owner, String repoName) {
+        try {
+            return CompletableFuture.supplyAsync(() -> fetch(owner, repoName), peerExecutor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<RepositoryInfo> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new PeerUnavailableException(ownerOf(owner, repoName), "peer pool is full", e));
+            return rejected;
+        }
+    }
+
+    /**
+     * Forwards a GitHub webhook delivery to the peer owning the repository, exactly as received so that the peer
+     * verifies its signature again.
+     *
+     * @throws PeerUnavailableException if the peer did not accept the delivery
+     */
+    public void forwardWebhook(String owner, String repoName, HttpHeaders deliveryHeaders, byte[] body) {
+        String peer = ownerOf(owner, repoName);
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(deliveryHeaders);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(FORWARDED_HEADER, self);
+        try {
+            restTemplate.postForEntity(peer + WEBHOOK_PATH, new HttpEntity<>(body, headers), Void.class);
+            downUntil.remove(peer);
+        } catch (ResourceAccessException e) {
+            downUntil.put(peer, System.currentTimeMillis() + downBackoffMillis);
+            throw new PeerUnavailableException(peer, e.getMessage(), e);
+        } catch (RestClientException e) {
+            throw new PeerUnavailableException(peer, e.getMessage(), e);
+        }
+    }
+
+    private String ownerOf(String owner, String repoName) {
+        return ring.nodeFor(owner + "/" + repoName);
+    }
+
+    private void record(Timer.Sample sample, String peer, String status) {
+        sample.stop(Timer.builder("peer.fetch")
+                .description("Latency of repository lookups forwarded to the owning peer")
+                .tag("peer", peer)
+                .tag("status", status)
+                .register(meterRegistry));
+    }
+
+    private static RepositoryInfo toRepositoryInfo(String owner, String repoName, RepositoryResponse body) {
+        GitHubRepoDTO apiData = new GitHubRepoDTO();
+        apiData.setFullName(body.getFullName());
+        apiData.setDescription(body.getDescription());
+        apiData.setCloneUrl(body.getCloneUrl());
+        apiData.setStargazersCount(body.getStars());
+        apiData.setCreatedAt(body.getCreatedAt() == null ? null : Instant.parse(body.getCreatedAt()));
+        return RepositoryInfo.of(owner, repoName, apiData);
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,16 @@
+package com.hero.integration;
+
+/**
+ * Exception thrown when the peer owning a repository cannot answer; the caller falls back to a local fetch.
+ *
+ * @Author Andrea
+ * @Date 2025/12/21 10:30
+ * @Version 1.0
+ *
+ */
+public class PeerUnavailableException extends RuntimeException {
+
+    public PeerUnavailableException(String peer, String message, Throwable cause) {
+        super(String.format("Peer %s is unavailable: %s", peer, message), cause);
+    }
+}
@@ -0,0 +1,743 @@
+package com.hero.service;
+
+import com.google.common.io.BaseEncoding;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.entity.RepositoryInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact lookup tier holding stored repositories as packed binary records in off-heap memory, sized for catalogs
+ * of millions of repositories that would not fit the heap as {@link RepositoryInfo} entities.
+ * <p>
+ * Records are appended to direct {@link ByteBuffer} segments. Owners are dictionary-encoded, ids, stars and timestamps
+ * are varints, the content hash is stored as raw bytes, and the full name and clone URL are left out when they
+ * follow GitHub's {@code owner/repo} and {@code https://github.com/owner/repo.git} patterns. Records are found
+ * through an open-addressing (linear probing) hash index on owner/repo, which holds only a hash and an address
+ * per slot. A replaced record becomes garbage; segments are compacted when garbage makes up half of them and
+ * more room is needed. Once {@code max-size} is reached, new repositories are not stored.
+ * The store is loaded from {@code repository_info} once the application is ready and kept current from
+ * {@link RepositoryUpdatedEvent}s and the rows {@link RepoDetailsService} reads from the database.
+ * <p>
+ * Audit columns other than the update time are not kept. Rows without an id yet (inserts still queued for
+ * writing) are not served, so that they are never mistaken for stored rows.
+ *
+ * @Author Andrea
+ * @Date 2025/12/20 10:10
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Component
+public class CompactRepositoryStore implements MeterBinder {
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_FULL_NAME = 1 << 1;
+    private static final int DERIVED_FULL_NAME = 1 << 2;
+    private static final int HAS_DESCRIPTION = 1 << 3;
+    private static final int HAS_CLONE_URL = 1 << 4;
+    private static final int DERIVED_CLONE_URL = 1 << 5;
+    private static final int HAS_CREATED_AT = 1 << 6;
+    private static final int HAS_UPDATE_TIME = 1 << 7;
+    private static final int HAS_CONTENT_HASH = 1 << 8;
+    private static final int HAS_ETAG = 1 << 9;
+    private static final int HAS_LAST_MODIFIED = 1 << 10;
+
+    private static final String CLONE_URL_PREFIX = "https://github.com/";
+
+    private static final String CLONE_URL_SUFFIX = ".git";
+
+    private static final int CONTENT_HASH_BYTES = 32;
+
+    private static final int INITIAL_SLOTS = 1 << 10;
+
+    private final RepositoryInfoDao repoInfoRepo;
+
+    private final boolean enabled;
+
+    private final int loadBatchSize;
+
+    private final int segmentSize;
+
+    private final long maxBytes;
+
+    /**
+     * Guards segments, index and dictionary; lookups share it, writes hold it exclusively
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private List<ByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * Write position in the last segment
+     */
+    private int writeOffset;
+
+    /**
+     * Bytes appended to all segments, live and replaced records
+     */
+    private long usedBytes;
+
+    /**
+     * Bytes of records the index points to
+     */
+    private long liveBytes;
+
+    /**
+     * Record address per slot, {@code (segment << 32 | offset) + 1}; {@code 0} marks an empty slot
+     */
+    private long[] addresses = new long[INITIAL_SLOTS];
+
+    private int[] hashes = new int[INITIAL_SLOTS];
+
+    private int size;
+
+    private final Map<String, Integer> ownerIds = new HashMap<>();
+
+    private final List<String> owners = new ArrayList<>();
+
+    /**
+     * Encoding buffer, only used under the write lock
+     */
+    private byte[] scratch = new byte[1024];
+
+    private long rejected;
+
+    public CompactRepositoryStore(RepositoryInfoDao repoInfoRepo,
+                                  @Value("${github.compact-store.enabled:true}") boolean enabled,
+                                  @Value("${github.compact-store.segment-size:64MB}") DataSize segmentSize,
+                                  @Value("${github.compact-store.max-size:1GB}") DataSize maxSize,
+                                  @Value("${github.compact-store.load-batch-size:1000}") int loadBatchSize) {
+        this.repoInfoRepo = repoInfoRepo;
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, segmentSize.toBytes());
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    /**
+     * Returns the stored row of a repository, decoded into a detached entity, or {@code null} if absent.
+     */
+    public RepositoryInfo get(String owner, String repoName) {
+        if (!enabled) {
+            return null;
+        }
+        byte[] name = repoName.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            Integer ownerId = ownerIds.get(owner);
+            if (ownerId == null) {
+                return null;
+            }
+            int slot = find(ownerId, name, hash(ownerId, name));
+            if (addresses[slot] == 0) {
+                return null;
+            }
+            return decode(addresses[slot] - 1, owner);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores or replaces the row of a repository.
+     *
+     * @return {@code false} if the store is disabled or full
+     */
+    public boolean put(RepositoryInfo info) {
+        return store(info, true);
+    }
+
+    /**
+     * Stores the row of a repository unless one is already stored, e.g. a row read from the database that a
+     * concurrent write may have replaced in the meantime.
+     *
+     * @return {@code false} if a row is already stored, or the store is disabled or full
+     */
+    public boolean putIfAbsent(RepositoryInfo info) {
+        return store(info, false);
+    }
+
+    /**
+     * Stores or replaces the row of a repository that is being written now, stamped with the current time
+     * so that it is not taken for an old row.
+     *
+     * @return {@code false} if the store is disabled or full
+     */
+    public boolean putWritten(RepositoryInfo info) {
+        return put(info.toBuilder().updateTime(LocalDateTime.now()).build());
+    }
+
+    private boolean store(RepositoryInfo info, boolean replace) {
+        if (!enabled || info.getOwner() == null || info.getRepoName() == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ownerId = ownerIds.get(info.getOwner());
+            if (ownerId == null) {
+                ownerId = owners.size();
+                ownerIds.put(info.getOwner(), ownerId);
+                owners.add(info.getOwner());
+            }
+            byte[] name = info.getRepoName().getBytes(StandardCharsets.UTF_8);
+            int hash = hash(ownerId, name);
+            int slot = find(ownerId, name, hash);
+            long previous = addresses[slot];
+            if (previous != 0 && !replace) {
+                return false;
+            }
+            int length = encode(info, ownerId, name);
+            if (previous == 0 && size + 1 > addresses.length / 2) {
+                resize();
+                slot = find(ownerId, name, hash);
+            }
+            long address = append(length);
+            if (address < 0) {
+                rejected++;
+                if (addresses[slot] != 0) {
+                    // never serve the replaced content
+                    liveBytes -= recordLength(addresses[slot] - 1);
+                    removeSlot(slot);
+                }
+                return false;
+            }
+            if (addresses[slot] == 0) {
+                size++;
+            } else {
+                liveBytes -= recordLength(addresses[slot] - 1);
+            }
+            addresses[slot] = address + 1;
+            hashes[slot] = hash;
+            liveBytes += length;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the row of a repository.
+     *
+     * @return whether a row was stored
+     */
+    public boolean remove(String owner, String repoName) {
+        if (!enabled) {
+            return false;
+        }
+        byte[] name = repoName.getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            Integer ownerId = ownerIds.get(owner);
+            if (ownerId == null) {
+                return false;
+            }
+            int slot = find(ownerId, name, hash(ownerId, name));
+            if (addresses[slot] == 0) {
+                return false;
+            }
+            liveBytes -= recordLength(addresses[slot] - 1);
+            removeSlot(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads every stored row, walking the table by id in batches.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Long afterId = 0L;
+        List<RepositoryInfo> batch;
+        do {
+            batch = repoInfoRepo.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, loadBatchSize));
+            for (RepositoryInfo info : batch) {
+                // a row replaced while loading is already in place
+                store(info, false);
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == loadBatchSize);
+        log.info("Loaded the repository store in {} ms: {}", System.currentTimeMillis() - start, stats());
+    }
+
+    /**
+     * Stores new content as it is accepted for writing.
+     */
+    @EventListener
+    public void onRepositoryUpdated(RepositoryUpdatedEvent event) {
+        putWritten(event.getInfo());
+    }
+
+    @EventListener
+    public void onRepositoryRemoved(RepositoryRemovedEvent event) {
+        remove(event.getOwner(), event.getRepoName());
+    }
+
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Off-heap bytes of all records, replaced ones included, plus the on-heap hash index, per stored repository.
+     */
+    public double bytesPerEntry() {
+        lock.readLock().lock();
+        try {
+            return size == 0 ? 0 : (double) (usedBytes + indexBytes()) / size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the size and memory counters of the store.
+     */
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("entries", size);
+            stats.put("owners", owners.size());
+            stats.put("segments", segments.size());
+            stats.put("allocatedBytes", (long) segments.size() * segmentSize);
+            stats.put("usedBytes", usedBytes);
+            stats.put("liveBytes", liveBytes);
+            stats.put("indexBytes", indexBytes());
+            stats.put("bytesPerEntry", size == 0 ? 0 : (double) (usedBytes + indexBytes()) / size);
+            stats.put("rejected", rejected);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("repository.compact_store.entries", this, CompactRepositoryStore::size)
+                .description("Repositories held by the compact off-heap store")
+                .register(registry);
+        Gauge.builder("repository.compact_store.bytes_per_entry", this, CompactRepositoryStore::bytesPerEntry)
+                .description("Off-heap record and index bytes per repository in the compact store")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private long indexBytes() {
+        return (long) addresses.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    // ---- hash index
+
+    private static int hash(int ownerId, byte[] name) {
+        int h = ownerId * 0x9E3779B9;
+        for (byte b : name) {
+            h = 31 * h + b;
+        }
+        // spread the high bits, slots are taken from the low ones
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the slot holding the record of the repository, or the empty slot ending its probe sequence.
+     */
+    private int find(int ownerId, byte[] name, int hash) {
+        int mask = addresses.length - 1;
+        int slot = hash & mask;
+        while (addresses[slot] != 0) {
+            if (hashes[slot] == hash && keyEquals(addresses[slot] - 1, ownerId, name)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a slot and shifts later entries of the probe sequence back, so that no lookup stops early.
+     */
+    private void removeSlot(int slot) {
+        int mask = addresses.length - 1;
+        int hole = slot;
+        addresses[hole] = 0;
+        size--;
+        for (int i = (hole + 1) & mask; addresses[i] != 0; i = (i + 1) & mask) {
+            int home = hashes[i] & mask;
+            // the entry may move into the hole if the hole lies between its home slot and its current slot
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                addresses[hole] = addresses[i];
+                hashes[hole] = hashes[i];
+                addresses[i] = 0;
+                hole = i;
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldAddresses = addresses;
+        int[] oldHashes = hashes;
+        addresses = new long[oldAddresses.length * 2];
+        hashes = new int[oldHashes.length * 2];
+        int mask = addresses.length - 1;
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] != 0) {
+                int slot = oldHashes[i] & mask;
+                while (addresses[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                addresses[slot] = oldAddresses[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    private boolean keyEquals(long address, int ownerId, byte[] name) {
+        Reader reader = new Reader(segments.get((int) (address >>> 32)), (int) address);
+        reader.readVarLong();  // record length
+        if (reader.readVarLong() != ownerId) {
+            return false;
+        }
+        int length = (int) reader.readVarLong();
+        if (length != name.length) {
+            return false;
+        }
+        for (byte b : name) {
+            if (reader.readByte() != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- segments
+
+    /**
+     * Copies the encoded record from the scratch buffer into the segments.
+     *
+     * @return the record address, or {@code -1} if it does not fit
+     */
+    private long append(int length) {
+        if (length > segmentSize) {
+            return -1;
+        }
+        if (segments.isEmpty() || writeOffset + length > segmentSize) {
+            if (usedBytes - liveBytes > usedBytes / 2 && !segments.isEmpty()) {
+                compact();
+            }
+            if (segments.isEmpty() || writeOffset + length > segmentSize) {
+                if ((long) (segments.size() + 1) * segmentSize > maxBytes) {
+                    return -1;
+                }
+                segments.add(ByteBuffer.allocateDirect(segmentSize));
+                writeOffset = 0;
+            }
+        }
+        int segment = segments.size() - 1;
+        ByteBuffer target = segments.get(segment).duplicate();
+        ((Buffer) target).position(writeOffset);
+        target.put(scratch, 0, length);
+        long address = ((long) segment << 32) | writeOffset;
+        writeOffset += length;
+        usedBytes += length;
+        return address;
+    }
+
+    /**
+     * Rewrites the live records into fresh segments, dropping replaced ones. The old segments are released
+     * once the garbage collector reclaims them.
+     */
+    private void compact() {
+        List<ByteBuffer> old = segments;
+        segments = new ArrayList<>();
+        writeOffset = 0;
+        usedBytes = 0;
+        ByteBuffer current = null;
+        for (int i = 0; i < addresses.length; i++) {
+            if (addresses[i] == 0) {
+                continue;
+            }
+            long address = addresses[i] - 1;
+            ByteBuffer source = old.get((int) (address >>> 32)).duplicate();
+            int offset = (int) address;
+            int length = recordLength(source, offset);
+            if (current == null || writeOffset + length > segmentSize) {
+                current = ByteBuffer.allocateDirect(segmentSize);
+                segments.add(current);
+                writeOffset = 0;
+            }
+            ((Buffer) source).limit(offset + length);
+            ((Buffer) source).position(offset);
+            ByteBuffer target = current.duplicate();
+            ((Buffer) target).position(writeOffset);
+            target.put(source);
+            addresses[i] = (((long) (segments.size() - 1) << 32) | writeOffset) + 1;
+            writeOffset += length;
+            usedBytes += length;
+        }
+        log.info("Compacted the repository store from {} to {} segments", old.size(), segments.size());
+    }
+
+    private int recordLength(long address) {
+        return recordLength(segments.get((int) (address >>> 32)), (int) address);
+    }
+
+    /**
+     * Total record length, the length prefix included.
+     */
+    private static int recordLength(ByteBuffer segment, int offset) {
+        Reader reader = new Reader(segment, offset);
+        int body = (int) reader.readVarLong();
+        return reader.position - offset + body;
+    }
+
+    // ---- record encoding
+
+    /**
+     * Encodes {@code info} into the scratch buffer as {@code [length][owner id][repo name][flags][fields...]}.
+     *
+     * @return the record length
+     */
+    private int encode(RepositoryInfo info, int ownerId, byte[] name) {
+        String derivedFullName = info.getOwner() + "/" + info.getRepoName();
+        String fullName = info.getFullName();
+        String cloneUrl = info.getCloneUrl();
+        byte[] contentHash = decodeContentHash(info.getContentHash());
+        int flags = 0;
+        flags |= info.getId() != null ? HAS_ID : 0;
+        flags |= fullName != null ? HAS_FULL_NAME : 0;
+        flags |= derivedFullName.equals(fullName) ? DERIVED_FULL_NAME : 0;
+        flags |= info.getDescription() != null ? HAS_DESCRIPTION : 0;
+        flags |= cloneUrl != null ? HAS_CLONE_URL : 0;
+        flags |= fullName != null && cloneUrl != null
+                && cloneUrl.equals(CLONE_URL_PREFIX + fullName + CLONE_URL_SUFFIX) ? DERIVED_CLONE_URL : 0;
+        flags |= info.getCreatedAt() != null ? HAS_CREATED_AT : 0;
+        flags |= info.getUpdateTime() != null ? HAS_UPDATE_TIME : 0;
+        flags |= contentHash != null ? HAS_CONTENT_HASH : 0;
+        flags |= info.getEtag() != null ? HAS_ETAG : 0;
+        flags |= info.getLastModified() != null ? HAS_LAST_MODIFIED : 0;
+
+        Writer body = new Writer();
+        body.writeVarLong(ownerId);
+        body.writeBytes(name);
+        body.writeVarLong(flags);
+        if ((flags & HAS_ID) != 0) {
+            body.writeVarLong(info.getId());
+        }
+        body.writeVarLong(info.getStars());
+        if ((flags & HAS_CREATED_AT) != 0) {
+            body.writeVarLong(info.getCreatedAt().toEpochMilli());
+        }
+        if ((flags & HAS_UPDATE_TIME) != 0) {
+            body.writeVarLong(info.getUpdateTime().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        if ((flags & HAS_FULL_NAME) != 0 && (flags & DERIVED_FULL_NAME) == 0) {
+            body.writeString(fullName);
+        }
+        if ((flags & HAS_DESCRIPTION) != 0) {
+            body.writeString(info.getDescription());
+        }
+        if ((flags & HAS_CLONE_URL) != 0 && (flags & DERIVED_CLONE_URL) == 0) {
+            body.writeString(cloneUrl);
+        }
+        if (contentHash != null) {
+            body.writeRaw(contentHash);
+        }
+        if ((flags & HAS_ETAG) != 0) {
+            body.writeString(info.getEtag());
+        }
+        if ((flags & HAS_LAST_MODIFIED) != 0) {
+            body.writeString(info.getLastModified());
+        }
+        // prefix the body with its length: shift it right by the size of the varint
+        int bodyLength = body.position;
+        int prefix = varLongSize(bodyLength);
+        ensureScratch(prefix + bodyLength);
+        System.arraycopy(scratch, 0, scratch, prefix, bodyLength);
+        Writer header = new Writer();
+        header.writeVarLong(bodyLength);
+        return prefix + bodyLength;
+    }
+
+    private RepositoryInfo decode(long address, String owner) {
+        Reader reader = new Reader(segments.get((int) (address >>> 32)), (int) address);
+        reader.readVarLong();  // record length
+        reader.readVarLong();  // owner id
+        String repoName = reader.readString();
+        int flags = (int) reader.readVarLong();
+        if ((flags & HAS_ID) == 0) {
+            // not written yet, the database decides
+            return null;
+        }
+        RepositoryInfo info = new RepositoryInfo();
+        info.setOwner(owner);
+        info.setRepoName(repoName);
+        info.setId(reader.readVarLong());
+        info.setStars((int) reader.readVarLong());
+        if ((flags & HAS_CREATED_AT) != 0) {
+            info.setCreatedAt(Instant.ofEpochMilli(reader.readVarLong()));
+        }
+        if ((flags & HAS_UPDATE_TIME) != 0) {
+            info.setUpdateTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.readVarLong()), ZoneOffset.UTC));
+        }
+        if ((flags & HAS_FULL_NAME) != 0) {
+            info.setFullName((flags & DERIVED_FULL_NAME) != 0 ? owner + "/" + repoName : reader.readString());
+        }
+        if ((flags & HAS_DESCRIPTION) != 0) {
+            info.setDescription(reader.readString());
+        }
+        if ((flags & HAS_CLONE_URL) != 0) {
+            info.setCloneUrl((flags & DERIVED_CLONE_URL) != 0
+                    ? CLONE_URL_PREFIX + info.getFullName() + CLONE_URL_SUFFIX : reader.readString());
+        }
+        if ((flags & HAS_CONTENT_HASH) != 0) {
+            info.setContentHash(BaseEncoding.base16().lowerCase().encode(reader.readRaw(CONTENT_HASH_BYTES)));
+        }
+        if ((flags & HAS_ETAG) != 0) {
+            info.setEtag(reader.readString());
+        }
+        if ((flags & HAS_LAST_MODIFIED) != 0) {
+            info.setLastModified(reader.readString());
+        }
+        return info;
+    }
+
+    /**
+     * The content hash is a SHA-256 in lowercase hex; anything else is not kept.
+     */
+    private static byte[] decodeContentHash(String contentHash) {
+        if (contentHash == null || contentHash.length() != CONTENT_HASH_BYTES * 2) {
+            return null;
+        }
+        try {
+            return BaseEncoding.base16().lowerCase().decode(contentHash);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private void ensureScratch(int capacity) {
+        if (capacity > scratch.length) {
+            byte[] grown = new byte[Math.max(capacity, scratch.length * 2)];
+            System.arraycopy(scratch, 0, grown, 0, scratch.length);
+            scratch = grown;
+        }
+    }
+
+    /**
+     * Appends to the scratch buffer from the start.
+     */
+    private final class Writer {
+
+        private int position;
+
+        void writeVarLong(long value) {
+            ensureScratch(position + 10);
+            while ((value & ~0x7FL) != 0) {
+                scratch[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            scratch[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            writeRaw(bytes);
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeRaw(byte[] bytes) {
+            ensureScratch(position + bytes.length);
+            System.arraycopy(bytes, 0, scratch, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+
+    /**
+     * Reads a record with absolute gets, so that concurrent readers do not share a buffer position.
+     */
+    private static final class Reader {
+
+        private final ByteBuffer segment;
+
+        private int position;
+
+        Reader(ByteBuffer segment, int position) {
+            this.segment = segment;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return segment.get(position++);
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = segment.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        byte[] readRaw(int length) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = segment.get(position++);
+            }
+            return bytes;
+        }
+
+        String readString() {
+            return new String(readRaw((int) readVarLong()), StandardCharsets.UTF_8);
+        }
+    }
+}
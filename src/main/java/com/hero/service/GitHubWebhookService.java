@@ -0,0 +1,233 @@
+package com.hero.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hero.biz.RepoCoordinate;
+import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.entity.RepositoryInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * * Service class applying GitHub webhook deliveries to the stored repositories, so that star counts and
+ * descriptions change when GitHub pushes them instead of when a TTL runs out.
+ * {@code star}, {@code watch} and {@code repository} events carry the full repository object; a repository already
+ * stored is updated in place from it, without a GitHub call, and written through the write-behind buffer, which
+ * coalesces bursts of deliveries for the same repository into one batched write. Repositories not stored are ignored.
+ * A deleted, renamed or transferred repository is removed under its old name: its stored row is deleted and a
+ * {@link RepositoryRemovedEvent} drops its in-memory copies and rankings.
+ *
+ * @Author Andrea
+ * @Date 2025/12/22 10:30
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Service
+public class GitHubWebhookService {
+
+    private static final Set<String> HANDLED_EVENTS = new HashSet<>(Arrays.asList("star", "watch", "repository"));
+
+    private static final Set<String> REMOVING_ACTIONS = new HashSet<>(Arrays.asList("deleted", "renamed", "transferred"));
+
+    private final RepositoryInfoDao repoInfoRepo;
+
+    private final RepositoryWriteBehindBuffer writeBehind;
+
+    private final RepoDetailsCache repoCache;
+
+    private final CompactRepositoryStore compactStore;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MeterRegistry meterRegistry;
+
+    public GitHubWebhookService(RepositoryInfoDao repoInfoRepo, RepositoryWriteBehindBuffer writeBehind,
+                                RepoDetailsCache repoCache, CompactRepositoryStore compactStore,
+                                ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.repoInfoRepo = repoInfoRepo;
+        this.writeBehind = writeBehind;
+        this.repoCache = repoCache;
+        this.compactStore = compactStore;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Applies one verified delivery.
+     *
+     * @param event the {@code X-GitHub-Event} header value
+     * @param payload the parsed request body
+     * @return what the delivery changed
+     */
+    public Outcome handle(String event, JsonNode payload) {
+        Outcome outcome = apply(event, payload);
+        Counter.builder("github.webhook.deliveries")
+                .description("GitHub webhook deliveries by event and outcome")
+                .tag("event", HANDLED_EVENTS.contains(event) ? event : "other")
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        return outcome;
+    }
+
+    /**
+     * The repository a delivery applies to, under its name before the event; in a cluster, the instance owning
+     * that name applies the delivery.
+     *
+     * @param event the {@code X-GitHub-Event} header value
+     * @param payload the parsed request body
+     * @return the repository, or {@code null} if the delivery carries nothing to apply
+     */
+    public RepoCoordinate targetOf(String event, JsonNode payload) {
+        JsonNode repository = payload.path("repository");
+        if (!HANDLED_EVENTS.contains(event) || !repository.isObject()) {
+            return null;
+        }
+        String owner = repository.path("owner").path("login").asText(null);
+        String repoName = repository.path("name").asText(null);
+        if (owner == null || repoName == null) {
+            return null;
+        }
+        if (!isRemoval(event, payload)) {
+            return new RepoCoordinate(owner, repoName);
+        }
+        String oldOwner = payload.path("changes").path("owner").path("from").path("user").path("login").asText(
+                payload.path("changes").path("owner").path("from").path("organization").path("login").asText(owner));
+        String oldName = payload.path("changes").path("repository").path("name").path("from").asText(repoName);
+        return new RepoCoordinate(oldOwner, oldName);
+    }
+
+    private static boolean isRemoval(String event, JsonNode payload) {
+        return "repository".equals(event) && REMOVING_ACTIONS.contains(payload.path("action").asText(""));
+    }
+
+    private Outcome apply(String event, JsonNode payload) {
+        RepoCoordinate target = targetOf(event, payload);
+        if (target == null) {
+            return Outcome.IGNORED;
+        }
+        String owner = target.getOwner();
+        String repoName = target.getRepoName();
+        String action = payload.path("action").asText("");
+        if (isRemoval(event, payload)) {
+            remove(owner, repoName);
+            log.info("Repository {}/{} {} on GitHub, removed", owner, repoName, action);
+            return Outcome.EVICTED;
+        }
+
+        JsonNode repository = payload.path("repository");
+        RepositoryInfo stored = findStored(owner, repoName);
+        if (stored == null) {
+            return Outcome.UNTRACKED;
+        }
+        RepositoryInfo pushed = RepositoryInfo.of(owner, repoName, toApiData(repository));
+        if (Objects.equals(stored.getContentHash(), pushed.getContentHash())) {
+            repoCache.put(stored);
+            return Outcome.UNCHANGED;
+        }
+        // the stored row may be read from the caches meanwhile, so the update goes to a copy that replaces it
+        RepositoryInfo updated = stored.toBuilder().build();
+        updated.updateFrom(pushed);
+        // the stored validators describe the previous content, so the next GitHub fetch is unconditional
+        updated.setEtag(null);
+        updated.setLastModified(null);
+        updated.setUpdateTime(LocalDateTime.now());
+        writeBehind.enqueue(updated);
+        repoCache.put(updated);
+        eventPublisher.publishEvent(new RepositoryUpdatedEvent(updated));
+        log.debug("Repository {}/{} updated from a {} {} webhook", owner, repoName, event, action);
+        return Outcome.APPLIED;
+    }
+
+    /**
+     * Deletes the stored row of a repository, a queued write of it included, and drops every copy derived from it.
+     */
+    private void remove(String owner, String repoName) {
+        writeBehind.discard(owner, repoName);
+        repoInfoRepo.deleteByOwnerAndRepoName(owner, repoName);
+        repoCache.invalidate(owner, repoName);
+        eventPublisher.publishEvent(new RepositoryRemovedEvent(owner, repoName));
+    }
+
+    /**
+     * The stored row of a repository, a queued write taking precedence over the compact store and the database.
+     */
+    private RepositoryInfo findStored(String owner, String repoName) {
+        RepositoryInfo pendingWrite = writeBehind.findPending(owner, repoName);
+        if (pendingWrite != null) {
+            return pendingWrite;
+        }
+        RepositoryInfo stored = compactStore.get(owner, repoName);
+        return stored != null ? stored : repoInfoRepo.findByOwnerAndRepoName(owner, repoName).orElse(null);
+    }
+
+    private static GitHubRepoDTO toApiData(JsonNode repository) {
+        GitHubRepoDTO apiData = new GitHubRepoDTO();
+        apiData.setFullName(repository.path("full_name").asText(null));
+        apiData.setDescription(repository.path("description").asText(null));
+        apiData.setCloneUrl(repository.path("clone_url").asText(null));
+        apiData.setStargazersCount(repository.path("stargazers_count").asInt());
+        apiData.setCreatedAt(createdAt(repository.path("created_at")));
+        return apiData;
+    }
+
+    /**
+     * {@code created_at} is an ISO 8601 string in most events but epoch seconds in some.
+     */
+    private static Instant createdAt(JsonNode node) {
+        if (node.isNumber()) {
+            return Instant.ofEpochSecond(node.asLong());
+        }
+        if (!node.isTextual()) {
+            return null;
+        }
+        try {
+            return Instant.parse(node.asText());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * What a delivery changed
+     */
+    public enum Outcome {
+
+        /**
+         * A stored repository was updated from the payload
+         */
+        APPLIED,
+
+        /**
+         * The payload matches the stored repository
+         */
+        UNCHANGED,
+
+        /**
+         * The repository no longer exists under its old name and was removed
+         */
+        EVICTED,
+
+        /**
+         * The repository is not stored here
+         */
+        UNTRACKED,
+
+        /**
+         * The event carries nothing to apply, e.g. {@code ping}
+         */
+        IGNORED
+    }
+}
@@ -0,0 +1,190 @@
+package com.hero.service;
+
+import com.hero.util.RepoNotFoundException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background revalidation of repository details.
+ * Refreshes stale entries on demand (see {@link RepoRefreshRequestedEvent}) and periodically renews the
+ * most requested repositories before they expire, all within a configurable GitHub request budget.
+ * Each refresh tick adds {@code budget-per-hour * interval / 1h} requests to the allowance; what a tick leaves
+ * unused carries over, up to {@value #MAX_CARRIED_TICKS} ticks' worth.
+ *
+ * @Author Andrea
+ * @Date 2025/12/11 10:20
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Component
+public class HotRepositoryRefresher implements MeterBinder {
+
+    private final RepoDetailsService repoDetailsService;
+
+    private final RepoDetailsCache repoCache;
+
+    private final Executor refreshExecutor;
+
+    private static final int MAX_CARRIED_TICKS = 2;
+
+    /**
+     * GitHub requests one tick adds to the allowance
+     */
+    private final double perTick;
+
+    /**
+     * Most requests the allowance can hold, at least one so a small budget still refreshes now and then
+     */
+    private final double maxAllowance;
+
+    /**
+     * Requests left for background refreshes, guarded by {@code this}
+     */
+    private double allowance;
+
+    private final int topN;
+
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong refreshed = new AtomicLong();
+
+    private final AtomicLong skipped = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    public HotRepositoryRefresher(RepoDetailsService repoDetailsService, RepoDetailsCache repoCache,
+                                  @Qualifier("refreshExecutor") Executor refreshExecutor,
+                                  @Value("${github.refresh.interval:PT30S}") Duration interval,
+                                  @Value("${github.refresh.budget-per-hour:1000}") double budgetPerHour,
+                                  @Value("${github.refresh.top-n:100}") int topN) {
+        this.repoDetailsService = repoDetailsService;
+        this.repoCache = repoCache;
+        this.refreshExecutor = refreshExecutor;
+        this.perTick = budgetPerHour * interval.toMillis() / Duration.ofHours(1).toMillis();
+        this.maxAllowance = Math.max(1d, perTick * MAX_CARRIED_TICKS);
+        this.allowance = maxAllowance;
+        this.topN = topN;
+    }
+
+    @EventListener
+    public void onRefreshRequested(RepoRefreshRequestedEvent event) {
+        refreshAsync(event.getOwner(), event.getRepoName());
+    }
+
+    /**
+     * Tops up the allowance, renews the hottest cached repositories that are past their soft TTL, then decays the
+     * access counts.
+     */
+    @Scheduled(fixedDelayString = "${github.refresh.interval:PT30S}", initialDelayString = "${github.refresh.interval:PT30S}")
+    public void refreshHottest() {
+        synchronized (this) {
+            allowance = Math.min(maxAllowance, allowance + perTick);
+        }
+        for (String key : repoCache.hottest(topN)) {
+            int slash = key.indexOf('/');
+            String owner = key.substring(0, slash);
+            String repoName = key.substring(slash + 1);
+            RepoDetailsCache.CachedRepository entry = repoCache.peekEntry(owner, repoName);
+            if (entry != null && entry.isStale()) {
+                refreshAsync(owner, repoName);
+            }
+        }
+        repoCache.decayAccessCounts();
+    }
+
+    /**
+     * Schedules a background refresh unless one is already running for the repository or the budget is spent.
+     *
+     * @return {@code true} if a refresh was scheduled
+     */
+    public boolean refreshAsync(String owner, String repoName) {
+        String key = RepoDetailsCache.key(owner, repoName);
+        if (!inProgress.add(key)) {
+            return false;
+        }
+        if (!tryConsume()) {
+            inProgress.remove(key);
+            skipped.incrementAndGet();
+            log.debug("Refresh budget spent, keep serving stale {}", key);
+            return false;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(owner, repoName, key));
+            return true;
+        } catch (RejectedExecutionException e) {
+            refund();
+            inProgress.remove(key);
+            skipped.incrementAndGet();
+            return false;
+        }
+    }
+
+    public long refreshedCount() {
+        return refreshed.get();
+    }
+
+    public long skippedCount() {
+        return skipped.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindOutcome(registry, "refreshed", refreshed);
+        bindOutcome(registry, "skipped", skipped);
+        bindOutcome(registry, "failed", failed);
+    }
+
+    private static void bindOutcome(MeterRegistry registry, String outcome, AtomicLong counter) {
+        FunctionCounter.builder("repository.refresh", counter, AtomicLong::get)
+                .description("Background repository refreshes")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private synchronized boolean tryConsume() {
+        if (allowance < 1d) {
+            return false;
+        }
+        allowance -= 1d;
+        return true;
+    }
+
+    private synchronized void refund() {
+        allowance = Math.min(maxAllowance, allowance + 1d);
+    }
+
+    private void refresh(String owner, String repoName, String key) {
+        try {
+            repoDetailsService.refreshRepositoryDetails(owner, repoName);
+            refreshed.incrementAndGet();
+        } catch (RepoNotFoundException e) {
+            // the repository is gone, stop serving it
+            repoCache.invalidate(owner, repoName);
+            refreshed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.warn("Background refresh of {} failed, the stale copy stays in place", key, e);
+        } finally {
+            inProgress.remove(key);
+        }
+    }
+}
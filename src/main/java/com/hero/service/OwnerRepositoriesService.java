@@ -0,0 +1,192 @@
+package com.hero.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.hero.biz.OwnerRepositoriesResponse;
+import com.hero.biz.RepositoryResponse;
+import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.integration.GitHubClientService;
+import com.hero.util.GitHubUnavailableException;
+import com.hero.util.OwnerNotFoundException;
+import com.hero.util.SingleFlight;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * * Service class listing all repositories of a user or organization.
+ * The listing is fetched from GitHub at most once per {@code github.listing.sync-ttl} and bulk-upserted into
+ * {@code repository_info}; pages are then served from the database with keyset pagination on the repository name.
+ *
+ * @Author Andrea
+ * @Date 2025/12/18 10:50
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Service
+public class OwnerRepositoriesService {
+
+    /**
+     * Bound on the {@code IN} list of one existing-row lookup
+     */
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private final GitHubClientService gitHubClient;
+
+    private final RepositoryInfoDao repoInfoRepo;
+
+    private final RepositoryWriteBehindBuffer writeBehind;
+
+    private final RepoDetailsCache repoCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Owners synced recently enough to be served from the database alone
+     */
+    private final Cache<String, Boolean> syncedOwners;
+
+    /**
+     * Coalesces concurrent syncs of the same owner into a single GitHub listing
+     */
+    private final SingleFlight<String, Integer> inFlightSyncs = new SingleFlight<>();
+
+    public OwnerRepositoriesService(GitHubClientService gitHubClient, RepositoryInfoDao repoInfoRepo,
+                                    RepositoryWriteBehindBuffer writeBehind, RepoDetailsCache repoCache,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${github.listing.sync-ttl:1h}") Duration syncTtl) {
+        this.gitHubClient = gitHubClient;
+        this.repoInfoRepo = repoInfoRepo;
+        this.writeBehind = writeBehind;
+        this.repoCache = repoCache;
+        this.eventPublisher = eventPublisher;
+        this.syncedOwners = CacheBuilder.newBuilder()
+                .expireAfterWrite(syncTtl)
+                .maximumSize(10_000)
+                .build();
+    }
+
+    /**
+     * Returns one page of an owner's repositories. The first page (no cursor) syncs the owner from GitHub when
+     * it was not synced within the sync TTL; later pages only read the database, so a walk through all pages
+     * sees one consistent listing.
+     *
+     * @param owner the username of the user or organization
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of repositories on the page
+     * @return the page, with the cursor of the next one if there are more rows
+     * @throws OwnerNotFoundException if the owner is not found on GitHub
+     * @throws GitHubUnavailableException if GitHub is unavailable and nothing is stored for the owner
+     */
+    public OwnerRepositoriesResponse listRepositories(String owner, String cursor, int limit) {
+        if (cursor == null) {
+            syncIfDue(owner);
+        }
+        // one extra row tells whether there is a next page
+        List<RepositoryInfo> rows = repoInfoRepo.findByOwnerAndRepoNameGreaterThanOrderByRepoNameAsc(
+                owner, cursor == null ? "" : cursor, PageRequest.of(0, limit + 1));
+        boolean hasNext = rows.size() > limit;
+        List<RepositoryInfo> page = hasNext ? rows.subList(0, limit) : rows;
+        List<RepositoryResponse> repositories = new ArrayList<>(page.size());
+        for (RepositoryInfo info : page) {
+            repositories.add(new RepositoryResponse(info));
+        }
+        String nextCursor = hasNext ? page.get(page.size() - 1).getRepoName() : null;
+        return new OwnerRepositoriesResponse(owner, repositories, nextCursor);
+    }
+
+    private void syncIfDue(String owner) {
+        if (syncedOwners.getIfPresent(owner) != null) {
+            return;
+        }
+        try {
+            inFlightSyncs.execute(owner, () -> sync(owner));
+        } catch (GitHubUnavailableException e) {
+            // serve what is stored, the next first page tries again
+            if (repoInfoRepo.findByOwnerAndRepoNameGreaterThanOrderByRepoNameAsc(owner, "", PageRequest.of(0, 1)).isEmpty()) {
+                throw e;
+            }
+            log.warn("Serving stored repositories of {}: {}", owner, e.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the owner's listing from GitHub and bulk-upserts it: new repositories are inserted, changed ones
+     * updated in place, and unchanged ones not written at all.
+     *
+     * @return the number of rows written
+     */
+    int sync(String owner) {
+        List<GitHubRepoDTO> listed = gitHubClient.fetchOwnerRepositories(owner);
+        if (listed == null) {
+            throw new OwnerNotFoundException(owner);
+        }
+        Map<String, RepositoryInfo> fetched = new LinkedHashMap<>(listed.size() * 2);
+        for (GitHubRepoDTO apiData : listed) {
+            String repoName = repoNameOf(apiData);
+            if (repoName != null) {
+                fetched.put(repoName, RepositoryInfo.of(owner, repoName, apiData));
+            }
+        }
+        Map<String, RepositoryInfo> existing = findExisting(owner, new ArrayList<>(fetched.keySet()));
+
+        List<RepositoryInfo> writes = writeBehind.writeAll(() -> {
+            List<RepositoryInfo> rows = new ArrayList<>();
+            for (RepositoryInfo row : fetched.values()) {
+                // a queued write is newer than the database row, and is not flushed while this runs
+                RepositoryInfo stored = writeBehind.findPending(owner, row.getRepoName());
+                if (stored == null) {
+                    stored = existing.get(row.getRepoName());
+                }
+                if (stored == null) {
+                    rows.add(row);
+                } else if (!Objects.equals(stored.getContentHash(), row.getContentHash())) {
+                    // listings carry no per-repository validators, so the next single fetch is unconditional
+                    stored.updateFrom(row);
+                    rows.add(stored);
+                }
+            }
+            return rows;
+        });
+        for (RepositoryInfo info : writes) {
+            repoCache.invalidate(info.getOwner(), info.getRepoName());
+            eventPublisher.publishEvent(new RepositoryUpdatedEvent(info));
+        }
+        syncedOwners.put(owner, Boolean.TRUE);
+        log.info("Synced {} repositories of {}, {} written", fetched.size(), owner, writes.size());
+        return writes.size();
+    }
+
+    /**
+     * Database rows by repository name.
+     */
+    private Map<String, RepositoryInfo> findExisting(String owner, List<String> repoNames) {
+        Map<String, RepositoryInfo> existing = new HashMap<>(repoNames.size() * 2);
+        for (List<String> chunk : Lists.partition(repoNames, LOOKUP_CHUNK_SIZE)) {
+            for (RepositoryInfo info : repoInfoRepo.findByOwnerAndRepoNameIn(owner, chunk)) {
+                existing.put(info.getRepoName(), info);
+            }
+        }
+        return existing;
+    }
+
+    private static String repoNameOf(GitHubRepoDTO apiData) {
+        String fullName = apiData.getFullName();
+        int slash = fullName == null ? -1 : fullName.indexOf('/');
+        return slash < 0 || slash == fullName.length() - 1 ? null : fullName.substring(slash + 1);
+    }
+}
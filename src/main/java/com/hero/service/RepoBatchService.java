@@ -0,0 +1,104 @@
+package com.hero.service;
+
+import com.hero.biz.BatchLookupResult;
+import com.hero.biz.RepoCoordinate;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.util.RepoNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * * Service class resolving many repositories at once through the regular {@link RepoDetailsService} lookup path.
+ *
+ * @Author Andrea
+ * @Date 2025/12/5 09:40
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Service
+public class RepoBatchService {
+
+    private final RepoDetailsService repoDetailsService;
+
+    private final Executor batchLookupExecutor;
+
+    private final int parallelism;
+
+    public RepoBatchService(RepoDetailsService repoDetailsService,
+                            @Qualifier("batchLookupExecutor") Executor batchLookupExecutor,
+                            @Value("${github.batch.parallelism:8}") int parallelism) {
+        this.repoDetailsService = repoDetailsService;
+        this.batchLookupExecutor = batchLookupExecutor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Resolves all given repositories concurrently, keeping at most {@code github.batch.parallelism} lookups in flight,
+     * and hands each result to {@code sink} as soon as it completes (in completion order, on the calling thread).
+     * Not-found and failed items are reported as results instead of failing the batch.
+     *
+     * @param repositories the repositories to resolve
+     * @param sink receives one result per repository
+     * @throws InterruptedException if the calling thread is interrupted while waiting for results
+     */
+    public void resolveAll(List<RepoCoordinate> repositories, Consumer<BatchLookupResult> sink) throws InterruptedException {
+        CompletionService<BatchLookupResult> completionService = new ExecutorCompletionService<>(batchLookupExecutor);
+        Iterator<RepoCoordinate> pending = repositories.iterator();
+        int inFlight = 0;
+        while (inFlight < parallelism && pending.hasNext()) {
+            submit(completionService, pending.next());
+            inFlight++;
+        }
+        while (inFlight > 0) {
+            BatchLookupResult result = take(completionService);
+            inFlight--;
+            if (pending.hasNext()) {
+                submit(completionService, pending.next());
+                inFlight++;
+            }
+            sink.accept(result);
+        }
+    }
+
+    private void submit(CompletionService<BatchLookupResult> completionService, RepoCoordinate coordinate) {
+        completionService.submit(() -> resolve(coordinate));
+    }
+
+    private BatchLookupResult resolve(RepoCoordinate coordinate) {
+        String owner = coordinate == null ? null : coordinate.getOwner();
+        String repoName = coordinate == null ? null : coordinate.getRepoName();
+        if (!StringUtils.hasText(owner) || !StringUtils.hasText(repoName)) {
+            return BatchLookupResult.error(owner, repoName, "owner and repoName are required");
+        }
+        try {
+            RepositoryInfo info = repoDetailsService.getRepositoryDetails(owner, repoName);
+            return BatchLookupResult.ok(owner, repoName, info);
+        } catch (RepoNotFoundException e) {
+            return BatchLookupResult.notFound(owner, repoName);
+        } catch (RuntimeException e) {
+            log.warn("Batch lookup failed for {}/{}", owner, repoName, e);
+            return BatchLookupResult.error(owner, repoName, e.getMessage());
+        }
+    }
+
+    private static BatchLookupResult take(CompletionService<BatchLookupResult> completionService) throws InterruptedException {
+        try {
+            return completionService.take().get();
+        } catch (ExecutionException e) {
+            // resolve() reports every failure as a result, so this only happens on programming errors
+            throw new IllegalStateException("Batch lookup task failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.hero.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.AtomicLongMap;
+import com.hero.dao.entity.RepositoryInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * In-process read-through cache of repository details, keyed by owner/repo.
+ * Entries expire after a configurable TTL and the cache is bounded by entry count (LRU eviction per segment).
+ * Entries older than the soft TTL are still served but reported as stale so that they can be revalidated,
+ * and every lookup answered from the cache feeds an access-frequency counter used to find the hottest repositories.
+ * Misses are not counted, so lookups of unknown repositories cannot grow it; it tracks at most as many keys as the
+ * cache holds, and its counts are halved on every hottest-key scan.
+ *
+ * @Author Andrea
+ * @Date 2025/12/2 10:12
+ * @Version 1.0
+ *
+ */
+@Component
+public class RepoDetailsCache implements MeterBinder {
+
+    private final Cache<String, CachedRepository> cache;
+
+    private final long softTtlMillis;
+
+    private final AtomicLongMap<String> accessCounts = AtomicLongMap.create();
+
+    private final long maxTrackedKeys;
+
+    public RepoDetailsCache(@Value("${github.cache.ttl:10m}") Duration ttl,
+                            @Value("${github.cache.soft-ttl:5m}") Duration softTtl,
+                            @Value("${github.cache.maximum-size:10000}") long maximumSize) {
+        this.softTtlMillis = softTtl.toMillis();
+        this.maxTrackedKeys = maximumSize;
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Builds the cache key for a repository.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @return the cache key, e.g. "spring-projects/spring-boot"
+     */
+    public static String key(String owner, String repoName) {
+        return owner + "/" + repoName;
+    }
+
+    /**
+     * Returns the cached repository details, or {@code null} if absent or expired.
+     */
+    public RepositoryInfo get(String owner, String repoName) {
+        CachedRepository entry = getEntry(owner, repoName);
+        return entry == null ? null : entry.getInfo();
+    }
+
+    /**
+     * Returns the cache entry, or {@code null} if absent or expired, and counts the access when it is a hit.
+     */
+    public CachedRepository getEntry(String owner, String repoName) {
+        String key = key(owner, repoName);
+        CachedRepository entry = cache.getIfPresent(key);
+        if (entry != null && (accessCounts.containsKey(key) || accessCounts.size() < maxTrackedKeys)) {
+            accessCounts.incrementAndGet(key);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the cache entry without counting an access or touching the hit/miss statistics.
+     */
+    public CachedRepository peekEntry(String owner, String repoName) {
+        return cache.asMap().get(key(owner, repoName));
+    }
+
+    public void put(RepositoryInfo info) {
+        cache.put(key(info.getOwner(), info.getRepoName()),
+                new CachedRepository(info, System.currentTimeMillis(), softTtlMillis));
+    }
+
+    public void invalidate(String owner, String repoName) {
+        String key = key(owner, repoName);
+        cache.invalidate(key);
+        accessCounts.remove(key);
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Snapshot of the hit/miss/eviction counters since startup.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the keys of the {@code limit} most frequently requested repositories, most requested first.
+     */
+    public List<String> hottest(int limit) {
+        return accessCounts.asMap().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Halves every access count so that the ranking follows recent traffic, dropping keys that reach zero.
+     */
+    public void decayAccessCounts() {
+        for (String key : accessCounts.asMap().keySet()) {
+            accessCounts.updateAndGet(key, count -> count / 2);
+        }
+        accessCounts.removeAllZeros();
+    }
+
+    /**
+     * Publishes size, hit/miss and eviction counters as {@code cache.*} tagged {@code cache=repoDetails}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, cache, "repoDetails");
+        Gauge.builder("cache.tracked.keys", accessCounts, AtomicLongMap::size)
+                .description("Repositories with a non-zero access count")
+                .tag("cache", "repoDetails")
+                .register(registry);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedRepository {
+
+        private final RepositoryInfo info;
+
+        /**
+         * Wall-clock time the entry was loaded, in epoch milliseconds
+         */
+        private final long loadedAtMillis;
+
+        private final long softTtlMillis;
+
+        /**
+         * Whether the entry is past its soft TTL and should be revalidated in the background.
+         */
+        public boolean isStale() {
+            return System.currentTimeMillis() - loadedAtMillis >= softTtlMillis;
+        }
+    }
+}
@@ -4,11 +4,25 @@ import com.hero.biz.dto.GitHubRepoDTO;
 import com.hero.dao.RepositoryInfoDao;
 import com.hero.dao.entity.RepositoryInfo;
 import com.hero.integration.GitHubClientService;
-import com.hero.util.JsonUtils;
+import com.hero.integration.GitHubFetchResult;
+import com.hero.integration.PeerClient;
+import com.hero.integration.PeerUnavailableException;
+import com.hero.util.GitHubUnavailableException;
 import com.hero.util.RepoNotFoundException;
+import com.hero.util.SingleFlight;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 
 /**
  * * Service class for retrieving repository details.
@@ -26,32 +40,463 @@ public class RepoDetailsService {
 
     private final RepositoryInfoDao repoInfoRepo;
 
-    public RepoDetailsService(GitHubClientService gitHubClient, RepositoryInfoDao repoInfoRepo) {
+    private final RepoDetailsCache repoCache;
+
+    private final RepositoryWriteBehindBuffer writeBehind;
+
+    /**
+     * Routes fetches of repositories owned by another instance to that instance
+     */
+    private final PeerClient peerClient;
+
+    /**
+     * Off-heap copies of stored rows, consulted before the database
+     */
+    private final CompactRepositoryStore compactStore;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Bounded pool for blocking JPA work on the non-blocking lookup path
+     */
+    private final Executor persistenceExecutor;
+
+    /**
+     * How long a stored row is served straight from the database before GitHub is asked again
+     */
+    private final Duration dbTtl;
+
+    /**
+     * Whether a stored row past {@code dbTtl} is served immediately while it is refreshed in the background
+     */
+    private final boolean staleWhileRevalidate;
+
+    /**
+     * Coalesces concurrent loads of the same owner/repo into a single database lookup and GitHub call
+     */
+    private final SingleFlight<String, Lookup> inFlightLoads = new SingleFlight<>();
+
+    public RepoDetailsService(GitHubClientService gitHubClient, RepositoryInfoDao repoInfoRepo, RepoDetailsCache repoCache,
+                              RepositoryWriteBehindBuffer writeBehind, CompactRepositoryStore compactStore,
+                              PeerClient peerClient, ApplicationEventPublisher eventPublisher,
+                              @Qualifier("persistenceExecutor") Executor persistenceExecutor,
+                              @Value("${github.cache.db-ttl:1h}") Duration dbTtl,
+                              @Value("${github.cache.stale-while-revalidate:true}") boolean staleWhileRevalidate) {
         this.gitHubClient = gitHubClient;
         this.repoInfoRepo = repoInfoRepo;
+        this.repoCache = repoCache;
+        this.writeBehind = writeBehind;
+        this.compactStore = compactStore;
+        this.peerClient = peerClient;
+        this.eventPublisher = eventPublisher;
+        this.persistenceExecutor = persistenceExecutor;
+        this.dbTtl = dbTtl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
     }
 
     /**
      * Retrieves the details of a repository by its owner and repository name.
+     * Served from the in-process cache when present, then from a fresh-enough stored row (compact store, then database),
+     * otherwise fetched from GitHub and upserted. Copies past their soft TTL are served as they are
+     * while a background refresh is requested. When GitHub is unavailable (circuit open, bulkhead full)
+     * the stored row is served instead, flagged {@link RepositoryInfo#isStale() stale}.
      *
      * @param owner the username of the repository owner
      * @param repoName the name of the repository
      * @return a {@code RepositoryInfo} object containing the repository details
      * @throws RepoNotFoundException if the repository is not found on GitHub
+     * @throws GitHubUnavailableException if GitHub is unavailable and nothing is stored
      */
     public RepositoryInfo getRepositoryDetails(String owner, String repoName) {
-        // 1. fetch from GitHub
-        GitHubRepoDTO apiData = gitHubClient.fetchRepoDetails(owner, repoName);
+        return lookupRepositoryDetails(owner, repoName).getInfo();
+    }
+
+    /**
+     * Same as {@link #getRepositoryDetails}, also telling whether the lookup waited on GitHub.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @return the repository details and where they came from
+     */
+    public Lookup lookupRepositoryDetails(String owner, String repoName) {
+        // 0. serve from memory when cached, revalidating in the background once stale
+        RepoDetailsCache.CachedRepository cached = repoCache.getEntry(owner, repoName);
+        if (cached != null) {
+            if (cached.isStale()) {
+                eventPublisher.publishEvent(new RepoRefreshRequestedEvent(owner, repoName));
+            }
+            return Lookup.stored(cached.getInfo());
+        }
+        // only one load per owner/repo runs at a time, concurrent callers share its outcome
+        return inFlightLoads.execute(RepoDetailsCache.key(owner, repoName), () -> loadRepositoryDetails(owner, repoName, true));
+    }
+
+    /**
+     * Whether the repository is in the in-process cache, i.e. a lookup answers without calling GitHub.
+     * Does not count as an access.
+     */
+    public boolean isCached(String owner, String repoName) {
+        return repoCache.peekEntry(owner, repoName) != null;
+    }
+
+    /**
+     * Variant of {@link #getRepositoryDetails} answering a peer that forwarded the lookup to this instance:
+     * the repository is resolved here and never forwarded again.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @return a {@code RepositoryInfo} object containing the repository details
+     * @throws RepoNotFoundException if the repository is not found on GitHub
+     * @throws GitHubUnavailableException if GitHub is unavailable and nothing is stored
+     */
+    public RepositoryInfo getRepositoryDetailsForPeer(String owner, String repoName) {
+        RepositoryInfo cached = repoCache.get(owner, repoName);
+        if (cached != null) {
+            return cached;
+        }
+        return inFlightLoads.execute(RepoDetailsCache.key(owner, repoName), () -> loadRepositoryDetails(owner, repoName, false))
+                .getInfo();
+    }
+
+    /**
+     * Non-blocking variant of {@link #getRepositoryDetails}: database work runs on the persistence pool and the
+     * GitHub call on the non-blocking client, so no caller thread waits on I/O.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @return a future completed with the repository details, or with a {@code RepoNotFoundException}
+     */
+    public CompletableFuture<RepositoryInfo> getRepositoryDetailsAsync(String owner, String repoName) {
+        return lookupRepositoryDetailsAsync(owner, repoName).thenApply(Lookup::getInfo);
+    }
+
+    /**
+     * Same as {@link #getRepositoryDetailsAsync}, also telling whether the lookup waited on GitHub.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @return a future completed with the repository details and where they came from
+     */
+    public CompletableFuture<Lookup> lookupRepositoryDetailsAsync(String owner, String repoName) {
+        RepoDetailsCache.CachedRepository cached = repoCache.getEntry(owner, repoName);
+        if (cached != null) {
+            if (cached.isStale()) {
+                eventPublisher.publishEvent(new RepoRefreshRequestedEvent(owner, repoName));
+            }
+            return CompletableFuture.completedFuture(Lookup.stored(cached.getInfo()));
+        }
+        return inFlightLoads.executeAsync(RepoDetailsCache.key(owner, repoName), () -> CompletableFuture
+                .supplyAsync(() -> lookupStored(owner, repoName), persistenceExecutor)
+                .thenCompose(lookup -> {
+                    if (lookup.servable != null) {
+                        return CompletableFuture.completedFuture(Lookup.stored(lookup.servable));
+                    }
+                    if (peerClient.isRemote(owner, repoName)) {
+                        return peerClient.fetchAsync(owner, repoName)
+                                .handle((remote, error) -> error == null ? peerAnswered(remote)
+                                        : peerFailed(owner, repoName, lookup.existing, error))
+                                .thenCompose(remote -> remote != null ? CompletableFuture.completedFuture(Lookup.stored(remote))
+                                        : fetchAndStoreAsync(owner, repoName, lookup.existing));
+                    }
+                    return fetchAndStoreAsync(owner, repoName, lookup.existing);
+                }));
+    }
 
-        log.info("Fetched from GitHub API: {}", JsonUtils.toJson(apiData));
+    private CompletableFuture<Lookup> fetchAndStoreAsync(String owner, String repoName, RepositoryInfo existing) {
+        return gitHubClient.fetchRepoDetailsAsync(owner, repoName,
+                        existing == null ? null : existing.getEtag(),
+                        existing == null ? null : existing.getLastModified())
+                .thenApplyAsync(result -> Lookup.fetched(store(owner, repoName, existing, result)), persistenceExecutor)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof GitHubUnavailableException && existing != null) {
+                        return Lookup.fetched(fallBackToStored(existing, (GitHubUnavailableException) cause));
+                    }
+                    throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(cause);
+                });
+    }
+
+    /**
+     * Re-fetches a repository from GitHub regardless of cached copies, coalesced with any load in flight.
+     * A repository owned by another peer is asked from that peer instead.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @return the refreshed repository details
+     * @throws RepoNotFoundException if the repository is no longer found on GitHub
+     */
+    public RepositoryInfo refreshRepositoryDetails(String owner, String repoName) {
+        return inFlightLoads.execute(RepoDetailsCache.key(owner, repoName), () -> {
+            if (peerClient.isRemote(owner, repoName)) {
+                RepositoryInfo remote = fetchFromPeer(owner, repoName, null);
+                if (remote != null) {
+                    return Lookup.stored(remote);
+                }
+            }
+            RepositoryInfo existing = writeBehind.findPending(owner, repoName);
+            if (existing == null) {
+                existing = repoInfoRepo.findByOwnerAndRepoName(owner, repoName).orElse(null);
+            }
+            return Lookup.fetched(fetchAndStore(owner, repoName, existing));
+        }).getInfo();
+    }
+
+    private Lookup loadRepositoryDetails(String owner, String repoName, boolean forwardToPeer) {
+        StoredLookup lookup = lookupStored(owner, repoName);
+        if (lookup.servable != null) {
+            return Lookup.stored(lookup.servable);
+        }
+        // 2. ask the peer owning the repository, which fetches it from GitHub at most once for the whole cluster
+        if (forwardToPeer && peerClient.isRemote(owner, repoName)) {
+            RepositoryInfo remote = fetchFromPeer(owner, repoName, lookup.existing);
+            if (remote != null) {
+                return Lookup.stored(remote);
+            }
+        }
+        // 3. fetch from GitHub
+        try {
+            return Lookup.fetched(fetchAndStore(owner, repoName, lookup.existing));
+        } catch (GitHubUnavailableException e) {
+            if (lookup.existing == null) {
+                throw e;
+            }
+            return Lookup.fetched(fallBackToStored(lookup.existing, e));
+        }
+    }
+
+    /**
+     * Asks the owning peer for a repository and caches its answer in memory; the peer stores the row.
+     * When GitHub is unavailable to the peer, {@code existing} is served stale as for a local fetch.
+     *
+     * @return the peer's copy, or {@code null} if the peer is unavailable and the caller should fetch locally
+     * @throws RepoNotFoundException if the repository is not found on GitHub
+     * @throws GitHubUnavailableException if GitHub is unavailable to the peer and nothing is stored
+     */
+    private RepositoryInfo fetchFromPeer(String owner, String repoName, RepositoryInfo existing) {
+        RepositoryInfo remote;
+        try {
+            remote = peerClient.fetch(owner, repoName);
+        } catch (RuntimeException e) {
+            return peerFailed(owner, repoName, existing, e);
+        }
+        return peerAnswered(remote);
+    }
+
+    private RepositoryInfo peerAnswered(RepositoryInfo remote) {
+        if (!remote.isStale()) {
+            repoCache.put(remote);
+        }
+        return remote;
+    }
+
+    private RepositoryInfo peerFailed(String owner, String repoName, RepositoryInfo existing, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof PeerUnavailableException) {
+            log.warn("Fetching {}/{} locally: {}", owner, repoName, cause.getMessage());
+            return null;
+        }
+        if (cause instanceof GitHubUnavailableException && existing != null) {
+            return fallBackToStored(existing, (GitHubUnavailableException) cause);
+        }
+        throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+    }
+
+    /**
+     * Serves the stored row without waiting on GitHub. The copy is not cached, so the next request tries GitHub again.
+     */
+    private RepositoryInfo fallBackToStored(RepositoryInfo existing, GitHubUnavailableException cause) {
+        log.warn("Serving stored copy of {}/{}: {}", existing.getOwner(), existing.getRepoName(), cause.getMessage());
+        return existing.asStale();
+    }
+
+    /**
+     * Looks for a copy that can be served without calling GitHub, otherwise returns the stored row (if any)
+     * whose validators the GitHub fetch should use. Blocking: touches the database.
+     */
+    private StoredLookup lookupStored(String owner, String repoName) {
+        // a load that completed just before this one may already have filled the cache
+        RepoDetailsCache.CachedRepository cached = repoCache.peekEntry(owner, repoName);
+        if (cached != null) {
+            return StoredLookup.serve(cached.getInfo());
+        }
+        // 1. a fetched row still waiting in the write-behind queue is as fresh as it gets
+        RepositoryInfo pendingWrite = writeBehind.findPending(owner, repoName);
+        if (pendingWrite != null) {
+            repoCache.put(pendingWrite);
+            return StoredLookup.serve(pendingWrite);
+        }
+        // the compact store answers for stored rows without a database round trip
+        RepositoryInfo stored = compactStore.get(owner, repoName);
+        if (stored == null) {
+            stored = repoInfoRepo.findByOwnerAndRepoName(owner, repoName).orElse(null);
+            if (stored != null) {
+                // a write accepted since the read already replaced the row, and must not be undone
+                compactStore.putIfAbsent(stored);
+            }
+        }
+        // serve the stored row when it is fresh enough, or stale but allowed to revalidate
+        if (stored != null && isFresh(stored)) {
+            repoCache.put(stored);
+            return StoredLookup.serve(stored);
+        }
+        if (stored != null && staleWhileRevalidate) {
+            repoCache.put(stored);
+            eventPublisher.publishEvent(new RepoRefreshRequestedEvent(owner, repoName));
+            return StoredLookup.serve(stored);
+        }
+        return StoredLookup.fetch(stored);
+    }
+
+    /**
+     * Fetches a repository from GitHub, conditionally on the validators of {@code existing}, upserts and caches it.
+     */
+    private RepositoryInfo fetchAndStore(String owner, String repoName, RepositoryInfo existing) {
+        GitHubFetchResult result = gitHubClient.fetchRepoDetails(owner, repoName,
+                existing == null ? null : existing.getEtag(),
+                existing == null ? null : existing.getLastModified());
+        return store(owner, repoName, existing, result);
+    }
+
+    private RepositoryInfo store(String owner, String repoName, RepositoryInfo existing, GitHubFetchResult result) {
+        if (existing != null && result.getStatus() == GitHubFetchResult.Status.NOT_MODIFIED) {
+            // 304: the stored copy is still current
+            log.debug("Repository {}/{} not modified on GitHub", owner, repoName);
+            RepositoryInfo revalidated = revalidated(existing);
+            repoCache.put(revalidated);
+            return revalidated;
+        }
+
+        GitHubRepoDTO apiData = result.getBody();
+
+        // formatted only when debug is enabled, instead of a JSON round trip on every fetch
+        log.debug("Fetched from GitHub API: {}", apiData);
 
         if (apiData == null) {
             // Not found on GitHub
             throw new RepoNotFoundException(owner, repoName);
         }
-        // 2. Map API DTO to Entity and save in DB
-        RepositoryInfo info = RepositoryInfo.of(owner, repoName, apiData);
-        repoInfoRepo.save(info);
+        // 3. Map API DTO to Entity and upsert in DB
+        RepositoryInfo fetched = RepositoryInfo.of(owner, repoName, apiData);
+        if (existing != null && result.getEtag() == null && result.getLastModified() == null) {
+            // GraphQL answers carry no validators, keep the stored ones for the next conditional REST fetch
+            fetched.setEtag(existing.getEtag());
+            fetched.setLastModified(existing.getLastModified());
+        } else {
+            fetched.setEtag(result.getEtag());
+            fetched.setLastModified(result.getLastModified());
+        }
+        RepositoryInfo info = upsert(existing, fetched);
+        repoCache.put(info);
         return info;
     }
+
+    /**
+     * Inserts the fetched row, or updates the stored one, through the write-behind buffer.
+     * The write is skipped entirely when neither the content hash nor the upstream ETag has changed,
+     * and a {@link RepositoryUpdatedEvent} is published only when the content itself changed.
+     * The stored row is never modified: other threads may be reading it from the caches, so an update goes to a
+     * fresh copy, stamped with its update time, which replaces it in the caches and the buffer.
+     */
+    private RepositoryInfo upsert(RepositoryInfo existing, RepositoryInfo fetched) {
+        if (existing == null) {
+            fetched.setUpdateTime(LocalDateTime.now());
+            writeBehind.enqueue(fetched);
+            eventPublisher.publishEvent(new RepositoryUpdatedEvent(fetched));
+            return fetched;
+        }
+        if (Objects.equals(existing.getContentHash(), fetched.getContentHash())
+                && Objects.equals(existing.getEtag(), fetched.getEtag())) {
+            log.debug("Repository {}/{} unchanged, skipping write", existing.getOwner(), existing.getRepoName());
+            return revalidated(existing);
+        }
+        boolean contentChanged = !Objects.equals(existing.getContentHash(), fetched.getContentHash());
+        RepositoryInfo updated = existing.toBuilder().build();
+        updated.updateFrom(fetched);
+        updated.setUpdateTime(LocalDateTime.now());
+        writeBehind.enqueue(updated);
+        if (contentChanged) {
+            eventPublisher.publishEvent(new RepositoryUpdatedEvent(updated));
+        } else {
+            // only the validators changed: no event, but the compact store must not keep serving the old ones
+            compactStore.put(updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Extends the freshness of a stored row GitHub confirmed unchanged, for {@code dbTtl}, without writing it: the
+     * stamped copy is kept in memory only, and its {@code update_time} reaches the database with the next write of
+     * the row. Another instance, or this one after a restart, revalidates it with a conditional request of its own.
+     *
+     * @return the stamped copy, {@code existing} is left untouched
+     */
+    private RepositoryInfo revalidated(RepositoryInfo existing) {
+        RepositoryInfo revalidated = existing.toBuilder().updateTime(LocalDateTime.now()).build();
+        compactStore.put(revalidated);
+        return revalidated;
+    }
+
+    private boolean isFresh(RepositoryInfo info) {
+        LocalDateTime lastWrite = info.getUpdateTime();
+        return lastWrite != null && lastWrite.isAfter(LocalDateTime.now().minus(dbTtl));
+    }
+
+    /**
+     * Repository details together with whether GitHub was called for them. Copies answered by a peer count as
+     * stored: the peer accounts for its own GitHub calls.
+     */
+    public static final class Lookup {
+
+        private final RepositoryInfo info;
+
+        private final boolean fromGitHub;
+
+        private Lookup(RepositoryInfo info, boolean fromGitHub) {
+            this.info = info;
+            this.fromGitHub = fromGitHub;
+        }
+
+        static Lookup stored(RepositoryInfo info) {
+            return new Lookup(info, false);
+        }
+
+        static Lookup fetched(RepositoryInfo info) {
+            return new Lookup(info, true);
+        }
+
+        public RepositoryInfo getInfo() {
+            return info;
+        }
+
+        /**
+         * Whether this lookup (or the load it was coalesced with) called GitHub, successfully or not
+         */
+        public boolean isFromGitHub() {
+            return fromGitHub;
+        }
+    }
+
+    /**
+     * Outcome of the local lookup: either a copy to serve, or the stored row (possibly {@code null}) to refresh.
+     */
+    private static final class StoredLookup {
+
+        private final RepositoryInfo servable;
+
+        private final RepositoryInfo existing;
+
+        private StoredLookup(RepositoryInfo servable, RepositoryInfo existing) {
+            this.servable = servable;
+            this.existing = existing;
+        }
+
+        static StoredLookup serve(RepositoryInfo info) {
+            return new StoredLookup(info, null);
+        }
+
+        static StoredLookup fetch(RepositoryInfo existing) {
+            return new StoredLookup(null, existing);
+        }
+    }
 }
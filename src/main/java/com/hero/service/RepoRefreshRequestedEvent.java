@@ -0,0 +1,21 @@
+package com.hero.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a stale copy of a repository was served and should be revalidated in the background.
+ *
+ * @Author Andrea
+ * @Date 2025/12/11 10:05
+ * @Version 1.0
+ *
+ */
+@Getter
+@AllArgsConstructor
+public class RepoRefreshRequestedEvent {
+
+    private final String owner;
+
+    private final String repoName;
+}
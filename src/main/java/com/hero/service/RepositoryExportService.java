@@ -0,0 +1,253 @@
+package com.hero.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.Semaphore;
+
+/**
+ * * Service class exporting every stored repository, for analytics jobs.
+ * Rows are read with plain JDBC on a forward-only, read-only result set fetched {@code github.export.fetch-size}
+ * rows at a time ({@code Integer.MIN_VALUE} streams row by row with MySQL Connector/J) and written to the output
+ * as they arrive, so no entity is managed and memory stays constant whatever the table size.
+ * Each export holds a pooled connection for its whole run, so at most {@code github.export.max-concurrent} run at
+ * once and the rest of the pool stays available to lookups.
+ *
+ * @Author Andrea
+ * @Date 2025/12/24 10:15
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Service
+public class RepositoryExportService {
+
+    private static final String SELECT = "select id, owner, repo_name, full_name, description, clone_url, stars, "
+            + "created_at, update_time from repository_info";
+
+    private static final String CSV_HEADER = "id,owner,repoName,fullName,description,cloneUrl,stars,createdAt,updatedAt";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Semaphore running;
+
+    public RepositoryExportService(DataSource dataSource, ObjectMapper objectMapper,
+                                   @Value("${github.export.fetch-size:1000}") int fetchSize,
+                                   @Value("${github.export.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Reserves one of the {@code github.export.max-concurrent} export slots, without waiting.
+     *
+     * @return {@code true} if a slot was reserved, to be given back with {@link #release()} once the export is done
+     */
+    public boolean tryAcquire() {
+        return running.tryAcquire();
+    }
+
+    /**
+     * Gives back a slot reserved with {@link #tryAcquire()}.
+     */
+    public void release() {
+        running.release();
+    }
+
+    /**
+     * Writes the stored repositories to {@code out} in id order. {@code out} is flushed but not closed.
+     *
+     * @param format the output format
+     * @param since only repositories written at or after this instant, or {@code null} for all
+     * @param out the stream to write to
+     * @return the number of repositories written
+     * @throws IOException if writing to {@code out} fails, e.g. because the client went away
+     */
+    public long export(ExportFormat format, Instant since, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        CountingHandler handler = new CountingHandler(writer);
+        try {
+            if (since == null) {
+                jdbcTemplate.query(SELECT + " order by id", handler);
+            } else {
+                // update_time holds the local time of the write, see RepositoryInfo#updateTime
+                jdbcTemplate.query(SELECT + " where update_time >= ? order by id", handler,
+                        Timestamp.valueOf(LocalDateTime.ofInstant(since, ZoneId.systemDefault())));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        log.info("Exported {} repositories as {} in {} ms", handler.count, format, System.currentTimeMillis() - start);
+        return handler.count;
+    }
+
+    /**
+     * Supported export formats
+     */
+    public enum ExportFormat {
+
+        /**
+         * One JSON object per line
+         */
+        NDJSON,
+
+        /**
+         * RFC 4180 CSV with a header row
+         */
+        CSV
+    }
+
+    private interface RowWriter {
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CountingHandler implements RowCallbackHandler {
+
+        private final RowWriter writer;
+
+        private long count;
+
+        CountingHandler(RowWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                writer.write(rs);
+            } catch (IOException e) {
+                // stops the cursor, rethrown as is by export
+                throw new UncheckedIOException(e);
+            }
+            count++;
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // lines are separated explicitly instead of by the default space between root values
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("owner", rs.getString("owner"));
+            generator.writeStringField("repoName", rs.getString("repo_name"));
+            generator.writeStringField("fullName", rs.getString("full_name"));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeStringField("cloneUrl", rs.getString("clone_url"));
+            generator.writeNumberField("stars", rs.getInt("stars"));
+            generator.writeStringField("createdAt", instant(rs.getTimestamp("created_at")));
+            generator.writeStringField("updatedAt", localInstant(rs.getTimestamp("update_time")));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writeField(rs.getString("owner"));
+            writer.write(',');
+            writeField(rs.getString("repo_name"));
+            writer.write(',');
+            writeField(rs.getString("full_name"));
+            writer.write(',');
+            writeField(rs.getString("description"));
+            writer.write(',');
+            writeField(rs.getString("clone_url"));
+            writer.write(',');
+            writer.write(Integer.toString(rs.getInt("stars")));
+            writer.write(',');
+            writeField(instant(rs.getTimestamp("created_at")));
+            writer.write(',');
+            writeField(localInstant(rs.getTimestamp("update_time")));
+            writer.write("\r\n");
+        }
+
+        /**
+         * Quotes a field holding a separator, quote or line break, doubling its quotes; {@code null} is left empty.
+         */
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static String instant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant().toString();
+    }
+
+    private static String localInstant(Timestamp timestamp) {
+        return timestamp == null ? null
+                : timestamp.toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant().toString();
+    }
+}
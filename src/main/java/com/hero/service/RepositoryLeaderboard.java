@@ -0,0 +1,192 @@
+package com.hero.service;
+
+import com.hero.biz.RepositoryResponse;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.entity.RepositoryInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory ranking of the stored repositories by stars, overall and per owner.
+ * Each ranking is a skip list ordered by stars descending (ties by owner/repo), so the top {@code k} entries
+ * are read in {@code O(log n + k)} without touching the database. The index is loaded from {@code repository_info}
+ * once the application is ready and kept current from {@link RepositoryUpdatedEvent}s; an event that arrives
+ * while loading wins over the row being loaded.
+ *
+ * @Author Andrea
+ * @Date 2025/12/19 10:15
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Component
+public class RepositoryLeaderboard implements MeterBinder {
+
+    private static final Comparator<Entry> BY_STARS_DESC = Comparator.comparingInt(Entry::getStars).reversed()
+            .thenComparing(Entry::getKey);
+
+    private final RepositoryInfoDao repoInfoRepo;
+
+    private final int loadBatchSize;
+
+    private final NavigableSet<Entry> overall = new ConcurrentSkipListSet<>(BY_STARS_DESC);
+
+    private final Map<String, NavigableSet<Entry>> byOwner = new ConcurrentHashMap<>();
+
+    /**
+     * Current entry per owner/repo, to find the ranked entry an update replaces
+     */
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    public RepositoryLeaderboard(RepositoryInfoDao repoInfoRepo,
+                                 @Value("${github.leaderboard.load-batch-size:1000}") int loadBatchSize) {
+        this.repoInfoRepo = repoInfoRepo;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    /**
+     * Loads every stored row, walking the table by id in batches.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        int loaded = 0;
+        Long afterId = 0L;
+        List<RepositoryInfo> batch;
+        do {
+            batch = repoInfoRepo.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, loadBatchSize));
+            for (RepositoryInfo info : batch) {
+                Entry entry = Entry.of(info);
+                // a newer row published while loading is already in place
+                current.computeIfAbsent(entry.getKey(), key -> {
+                    rank(entry);
+                    return entry;
+                });
+            }
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == loadBatchSize);
+        log.info("Loaded {} repositories into the leaderboard in {} ms", loaded, System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onRepositoryUpdated(RepositoryUpdatedEvent event) {
+        update(event.getInfo());
+    }
+
+    @EventListener
+    public void onRepositoryRemoved(RepositoryRemovedEvent event) {
+        remove(event.getOwner(), event.getRepoName());
+    }
+
+    /**
+     * Inserts or re-ranks a repository.
+     */
+    public void update(RepositoryInfo info) {
+        Entry entry = Entry.of(info);
+        // per-key atomic: the replaced entry is unranked before the new one is ranked
+        current.compute(entry.getKey(), (key, previous) -> {
+            if (previous != null) {
+                unrank(previous);
+            }
+            rank(entry);
+            return entry;
+        });
+    }
+
+    /**
+     * Unranks a repository.
+     */
+    public void remove(String owner, String repoName) {
+        current.computeIfPresent(RepoDetailsCache.key(owner, repoName), (key, previous) -> {
+            unrank(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the repositories with the most stars, overall or of one owner.
+     *
+     * @param owner the owner to rank within, or {@code null} for all repositories
+     * @param limit the maximum number of repositories
+     * @return at most {@code limit} repositories, most stars first
+     */
+    public List<RepositoryResponse> top(String owner, int limit) {
+        NavigableSet<Entry> ranking = owner == null ? overall : byOwner.get(owner);
+        if (ranking == null) {
+            return Collections.emptyList();
+        }
+        List<RepositoryResponse> top = new ArrayList<>(Math.min(limit, 64));
+        for (Iterator<Entry> it = ranking.iterator(); it.hasNext() && top.size() < limit; ) {
+            top.add(it.next().getResponse());
+        }
+        return top;
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("repository.leaderboard.size", this, RepositoryLeaderboard::size)
+                .description("Repositories ranked in the leaderboard")
+                .register(registry);
+    }
+
+    private void rank(Entry entry) {
+        overall.add(entry);
+        byOwner.computeIfAbsent(entry.getOwner(), owner -> new ConcurrentSkipListSet<>(BY_STARS_DESC)).add(entry);
+    }
+
+    private void unrank(Entry entry) {
+        overall.remove(entry);
+        NavigableSet<Entry> ranking = byOwner.get(entry.getOwner());
+        if (ranking != null) {
+            ranking.remove(entry);
+        }
+    }
+
+    /**
+     * Ranked snapshot of a repository: the sort key plus the response it is served as.
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Entry {
+
+        private final String key;
+
+        private final String owner;
+
+        private final int stars;
+
+        private final RepositoryResponse response;
+
+        static Entry of(RepositoryInfo info) {
+            return new Entry(RepoDetailsCache.key(info.getOwner(), info.getRepoName()), info.getOwner(), info.getStars(),
+                    new RepositoryResponse(info));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hero.service;
+
+import lombok.Getter;
+
+/**
+ * Published when a repository no longer exists under its name on GitHub (deleted, renamed or transferred) and its
+ * stored row was deleted, so that every copy and index entry derived from the row can be dropped.
+ *
+ * @Author Andrea
+ * @Date 2025/12/22 10:20
+ * @Version 1.0
+ *
+ */
+@Getter
+public class RepositoryRemovedEvent {
+
+    private final String owner;
+
+    private final String repoName;
+
+    public RepositoryRemovedEvent(String owner, String repoName) {
+        this.owner = owner;
+        this.repoName = repoName;
+    }
+}
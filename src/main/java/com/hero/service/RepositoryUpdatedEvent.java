@@ -0,0 +1,32 @@
+package com.hero.service;
+
+import com.hero.dao.entity.RepositoryInfo;
+import lombok.Getter;
+
+/**
+ * Published when new content of a repository was stored, so that copies derived from the old content can be dropped
+ * and indexes over stored rows can be updated.
+ *
+ * @Author Andrea
+ * @Date 2025/12/16 10:05
+ * @Version 1.0
+ *
+ */
+@Getter
+public class RepositoryUpdatedEvent {
+
+    private final String owner;
+
+    private final String repoName;
+
+    /**
+     * The row as stored, with the new content
+     */
+    private final RepositoryInfo info;
+
+    public RepositoryUpdatedEvent(RepositoryInfo info) {
+        this.owner = info.getOwner();
+        this.repoName = info.getRepoName();
+        this.info = info;
+    }
+}
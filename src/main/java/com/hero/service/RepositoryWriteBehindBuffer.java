@@ -0,0 +1,381 @@
+package com.hero.service;
+
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.StarHistoryDao;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.dao.entity.StarSample;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous write-behind stage for {@link RepositoryInfo} rows.
+ * Writes are queued per owner/repo (a newer write replaces a queued one) and a background flusher persists them
+ * in JDBC batches once {@code batch-size} rows are queued or {@code flush-interval} has elapsed.
+ * When the queue is full the caller waits up to {@code offer-timeout} and then writes synchronously.
+ * Queued writes are flushed on graceful shutdown, within {@code shutdown-timeout}: rows still queued when a stuck
+ * flush outlasts it are dropped, and logged, rather than blocking the shutdown.
+ * Every written row also appends a {@link StarSample} to the star history, in the same batch.
+ * Save latency is recorded on {@code repository.save}, tagged {@code mode=batch|sync}.
+ *
+ * @Author Andrea
+ * @Date 2025/12/10 10:15
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@Component
+public class RepositoryWriteBehindBuffer implements SmartLifecycle {
+
+    private final RepositoryInfoDao repoInfoRepo;
+
+    private final StarHistoryDao starHistoryDao;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final long offerTimeoutMillis;
+
+    private final long shutdownTimeoutMillis;
+
+    /**
+     * Latest queued row per owner/repo
+     */
+    private final Map<String, RepositoryInfo> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Keys of queued rows in arrival order, bounded to provide backpressure
+     */
+    private final BlockingQueue<String> queue;
+
+    /**
+     * Held while queued rows are taken off {@code pending} and written, and for the whole of a bulk write, so that
+     * a bulk write never runs alongside a flush of the same rows
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicLong flushedRows = new AtomicLong();
+
+    private final AtomicLong synchronousWrites = new AtomicLong();
+
+    private final Timer batchSaveTimer;
+
+    private final Timer syncSaveTimer;
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    @Autowired
+    public RepositoryWriteBehindBuffer(RepositoryInfoDao repoInfoRepo, StarHistoryDao starHistoryDao,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${github.persistence.write-behind.enabled:true}") boolean enabled,
+                                       @Value("${github.persistence.write-behind.capacity:10000}") int capacity,
+                                       @Value("${github.persistence.write-behind.batch-size:50}") int batchSize,
+                                       @Value("${github.persistence.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                       @Value("${github.persistence.write-behind.offer-timeout:50ms}") Duration offerTimeout,
+                                       @Value("${github.persistence.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout,
+                                       MeterRegistry meterRegistry) {
+        this.repoInfoRepo = repoInfoRepo;
+        this.starHistoryDao = starHistoryDao;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.offerTimeoutMillis = offerTimeout.toMillis();
+        this.shutdownTimeoutMillis = shutdownTimeout.toMillis();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSaveTimer = saveTimer("batch", meterRegistry);
+        this.syncSaveTimer = saveTimer("sync", meterRegistry);
+        Gauge.builder("repository.write_behind.queued", queue, BlockingQueue::size)
+                .description("Repository rows waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    private static Timer saveTimer(String mode, MeterRegistry meterRegistry) {
+        return Timer.builder("repository.save")
+                .description("Latency of repository row writes")
+                .tag("mode", mode)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates a buffer that writes every row synchronously, on the calling thread.
+     */
+    static RepositoryWriteBehindBuffer synchronous(RepositoryInfoDao repoInfoRepo, StarHistoryDao starHistoryDao) {
+        return new RepositoryWriteBehindBuffer(repoInfoRepo, starHistoryDao, null, false, 1, 1, Duration.ZERO, Duration.ZERO,
+                Duration.ZERO, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Queues {@code info} for writing.
+     *
+     * @param info the row to insert or update
+     */
+    public void enqueue(RepositoryInfo info) {
+        if (!enabled || !running) {
+            writeSynchronously(info);
+            return;
+        }
+        String key = RepoDetailsCache.key(info.getOwner(), info.getRepoName());
+        if (pending.put(key, info) != null) {
+            // coalesced with a write that is already queued
+            return;
+        }
+        boolean accepted;
+        try {
+            accepted = queue.offer(key, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            // queue full: push back on the caller by writing on its thread. Callers that coalesced into this key
+            // meanwhile queued nothing themselves, so whatever row is pending now is written, not just this one
+            RepositoryInfo current = pending.remove(key);
+            if (current != null) {
+                writeSynchronously(current);
+            }
+        }
+    }
+
+    /**
+     * Builds rows with {@code rows} and writes them now, on the calling thread, in JDBC batches of {@code batch-size};
+     * for bulk upserts whose rows must be readable as soon as this returns. {@code rows} runs after any flush in
+     * progress and no flush starts until the rows are written, so queued rows it reads with {@link #findPending}
+     * may be updated in place: the flusher is neither writing them nor takes them meanwhile. The queued writes
+     * written this way are superseded.
+     *
+     * @param rows builds the rows to insert or update
+     * @return the rows written
+     */
+    public List<RepositoryInfo> writeAll(Supplier<List<RepositoryInfo>> rows) {
+        flushLock.lock();
+        try {
+            List<RepositoryInfo> writes = rows.get();
+            if (!enabled) {
+                writes.forEach(this::writeSynchronously);
+                return writes;
+            }
+            for (RepositoryInfo info : writes) {
+                // the queued key stays behind and is skipped by the flusher once its row is gone. A row queued
+                // since rows were built is newer and stays queued
+                pending.remove(RepoDetailsCache.key(info.getOwner(), info.getRepoName()), info);
+            }
+            writeBatches(writes);
+            return writes;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the queued write of a repository, e.g. one that no longer exists upstream; the queued key is skipped
+     * by the flusher. A batch the flusher has already taken is still written.
+     */
+    public void discard(String owner, String repoName) {
+        pending.remove(RepoDetailsCache.key(owner, repoName));
+    }
+
+    /**
+     * Returns the queued, not yet persisted row for a repository, if any.
+     */
+    public RepositoryInfo findPending(String owner, String repoName) {
+        return pending.get(RepoDetailsCache.key(owner, repoName));
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    public long flushedCount() {
+        return flushedRows.get();
+    }
+
+    public long synchronousWriteCount() {
+        return synchronousWrites.get();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "repo-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        boolean locked = false;
+        try {
+            flusher.join(Math.max(1, shutdownTimeoutMillis));
+            // a flush stuck on the database still holds the lock once the join gave up
+            locked = flushLock.tryLock(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+        if (!locked) {
+            log.warn("Write-behind flush still running after {} ms, dropping {} queued repository rows",
+                    shutdownTimeoutMillis, queue.size());
+            return;
+        }
+        try {
+            // anything enqueued while stopping
+            flush(drainAll());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runFlusher() {
+        while (running) {
+            try {
+                flush(nextBatch());
+            } catch (InterruptedException e) {
+                // stop() was called, drain below
+            } catch (RuntimeException e) {
+                log.error("Write-behind flush failed", e);
+            }
+        }
+        flush(drainAll());
+    }
+
+    /**
+     * Waits for the first queued key, then collects keys until the batch is full or the flush interval has elapsed.
+     */
+    private List<String> nextBatch() throws InterruptedException {
+        List<String> batch = new ArrayList<>(batchSize);
+        String first = queue.take();
+        batch.add(first);
+        long deadline = System.currentTimeMillis() + flushIntervalMillis;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.currentTimeMillis();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            String next;
+            try {
+                next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // stopping: flush what was already taken off the queue
+                break;
+            }
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private List<String> drainAll() {
+        List<String> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        return batch;
+    }
+
+    private void flush(List<String> keys) {
+        flushLock.lock();
+        try {
+            List<RepositoryInfo> rows = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                RepositoryInfo info = pending.remove(key);
+                if (info != null) {
+                    rows.add(info);
+                }
+            }
+            writeBatches(rows);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void writeBatches(List<RepositoryInfo> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<RepositoryInfo> chunk = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            try {
+                batchSaveTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                    repoInfoRepo.saveAll(chunk);
+                    // ids of new rows are assigned on persist, so samples are built after the save
+                    starHistoryDao.saveAll(samplesOf(chunk));
+                }));
+                flushedRows.addAndGet(chunk.size());
+            } catch (RuntimeException e) {
+                // e.g. a concurrent insert of the same owner/repo, retry row by row so one bad row does not lose the batch
+                log.warn("Batch write of {} repository rows failed, retrying row by row", chunk.size(), e);
+                chunk.forEach(this::writeSynchronously);
+            }
+        }
+    }
+
+    private static List<StarSample> samplesOf(List<RepositoryInfo> rows) {
+        long now = System.currentTimeMillis();
+        List<StarSample> samples = new ArrayList<>(rows.size());
+        for (RepositoryInfo info : rows) {
+            if (info.getId() != null) {
+                samples.add(StarSample.of(info, now));
+            }
+        }
+        return samples;
+    }
+
+    private void writeSynchronously(RepositoryInfo info) {
+        try {
+            syncSaveTimer.record(() -> {
+                repoInfoRepo.save(info);
+                if (info.getId() != null) {
+                    starHistoryDao.save(StarSample.of(info, System.currentTimeMillis()));
+                }
+            });
+            synchronousWrites.incrementAndGet();
+        } catch (RuntimeException e) {
+            if (enabled) {
+                log.error("Failed to write repository {}/{}", info.getOwner(), info.getRepoName(), e);
+            } else {
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hero.service;
+
+import com.hero.biz.StarHistoryResponse;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.StarHistoryDao;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.util.RepoNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class for reading the star history of stored repositories.
+ * Samples are appended by {@link RepositoryWriteBehindBuffer} whenever a repository row is written,
+ * and downsampled by the database, so a long range costs one indexed scan and returns one row per bucket.
+ *
+ * @Author Andrea
+ * @Date 2025/12/17 10:40
+ * @Version 1.0
+ *
+ */
+@Service
+public class StarHistoryService {
+
+    private final RepositoryInfoDao repoInfoRepo;
+
+    private final StarHistoryDao starHistoryDao;
+
+    public StarHistoryService(RepositoryInfoDao repoInfoRepo, StarHistoryDao starHistoryDao) {
+        this.repoInfoRepo = repoInfoRepo;
+        this.starHistoryDao = starHistoryDao;
+    }
+
+    /**
+     * Returns the star history of a stored repository, downsampled into buckets of {@code step}.
+     * Only repositories that were looked up before have a history; GitHub is not called.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive
+     * @param step bucket width
+     * @return the downsampled series
+     * @throws RepoNotFoundException if the repository is not stored
+     */
+    public StarHistoryResponse getStarHistory(String owner, String repoName, Instant from, Instant to, Duration step) {
+        RepositoryInfo info = repoInfoRepo.findByOwnerAndRepoName(owner, repoName)
+                .orElseThrow(() -> new RepoNotFoundException(owner, repoName));
+        List<StarHistoryDao.StarBucket> buckets = starHistoryDao.findDownsampled(info.getId(),
+                from.toEpochMilli(), to.toEpochMilli(), step.toMillis());
+        List<StarHistoryResponse.Point> points = new ArrayList<>(buckets.size());
+        for (StarHistoryDao.StarBucket bucket : buckets) {
+            points.add(new StarHistoryResponse.Point(Instant.ofEpochMilli(bucket.getBucket()).toString(),
+                    bucket.getMaxStars(), bucket.getMinStars(), bucket.getSamples()));
+        }
+        return new StarHistoryResponse(info.getFullName(), from.toString(), to.toString(), step.toString(), points);
+    }
+}
@@ -0,0 +1,51 @@
+package com.hero.util;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring mapping keys to nodes. Every node is placed at {@code virtualNodes} points on the ring,
+ * so keys spread evenly and adding or removing a node only moves the keys next to its points.
+ * Immutable; every process built from the same node list maps every key to the same node.
+ *
+ * @param <N> the node type, placed on the ring by its {@code toString()}
+ * @Author Andrea
+ * @Date 2025/12/21 10:05
+ * @Version 1.0
+ *
+ */
+public final class ConsistentHashRing<N> {
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final NavigableMap<Long, N> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<N> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("Expected at least one node and one virtual node per node");
+        }
+        for (N node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * Returns the node owning {@code key}: the first node point at or after the key's hash, wrapping around.
+     */
+    public N nodeFor(String key) {
+        Map.Entry<Long, N> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    private static long hash(String value) {
+        return HASH.hashString(value, StandardCharsets.UTF_8).asLong();
+    }
+}
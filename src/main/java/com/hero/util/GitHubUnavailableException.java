@@ -0,0 +1,22 @@
+package com.hero.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a GitHub call is refused locally, because the circuit breaker is open, the bulkhead is full
+ * or every token is rate limited.
+ * Callers fall back to the stored copy; when there is none the REST API answers 503 Service Unavailable.
+ *
+ * @Author Andrea
+ * @Date 2025/12/14 10:05
+ * @Version 1.0
+ *
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class GitHubUnavailableException extends RuntimeException {
+
+    public GitHubUnavailableException(String owner, String repoName, Throwable cause) {
+        super(String.format("GitHub is unavailable for owner: '%s' and name: '%s' (%s)", owner, repoName, cause.getMessage()), cause);
+    }
+}
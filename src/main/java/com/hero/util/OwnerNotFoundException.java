@@ -0,0 +1,21 @@
+package com.hero.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a GitHub user or organization is not found.
+ * Mark it as 404 Not Found, so that the REST API will automatically return a 404 status code when an exception is thrown.
+ *
+ * @Author Andrea
+ * @Date 2025/12/18 10:40
+ * @Version 1.0
+ *
+ */
+@ResponseStatus(value = HttpStatus.NOT_FOUND)
+public class OwnerNotFoundException extends RuntimeException {
+
+    public OwnerNotFoundException(String owner) {
+        super(String.format("Owner not found: '%s'", owner));
+    }
+}
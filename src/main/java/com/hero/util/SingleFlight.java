@@ -0,0 +1,108 @@
+package com.hero.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of in-flight loads that coalesces concurrent calls for the same key.
+ * The first caller runs the loader, every concurrent caller for that key waits on the same future
+ * and receives the same result or the same exception.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @Author Andrea
+ * @Date 2025/12/3 15:05
+ * @Version 1.0
+ *
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs {@code loader} for {@code key} unless a load for the same key is already running,
+     * in which case the caller waits for that load instead.
+     *
+     * @param key the key identifying the load
+     * @param loader the load to run on the calling thread if no other load is in flight
+     * @return the loaded value, shared by all coalesced callers
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute}: starts {@code loader} for {@code key} unless a load for the same key
+     * is already in flight, in which case the caller gets a view of that load instead. Synchronous and asynchronous
+     * callers of the same key share one load.
+     *
+     * @param key the key identifying the load
+     * @param loader starts the load and returns its future; called on the calling thread
+     * @return a future completed with the loaded value or the load's exception
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            // a dependent view, so callers cannot complete the shared future
+            return existing.thenApply(value -> value);
+        }
+        CompletableFuture<V> started;
+        try {
+            started = loader.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            return mine.thenApply(value -> value);
+        }
+        started.whenComplete((value, error) -> {
+            inFlight.remove(key, mine);
+            if (error != null) {
+                mine.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                mine.complete(value);
+            }
+        });
+        return mine.thenApply(value -> value);
+    }
+
+    /**
+     * Number of loads currently in flight.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
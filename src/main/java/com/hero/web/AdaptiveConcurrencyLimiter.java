@@ -0,0 +1,297 @@
+package com.hero.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive limit on the repository lookups in flight, so that a slow GitHub sheds a slice of the traffic
+ * instead of tying up every servlet thread.
+ * The limit follows the latency of lookups that actually called upstream, gradient style: it shrinks by
+ * {@code tolerance * minRtt / rtt} (at most halving) once latency rises more than {@code tolerance} times over the
+ * lowest one seen in the last {@code min-rtt-window}, grows by about {@code sqrt(limit)} while latency stays within
+ * it and the limit is in use, and is cut multiplicatively when GitHub is unavailable. Lookups answered from
+ * storage are much faster than upstream ones and would pin the baseline, so their latency is never sampled.
+ * Requests over the limit wait at most {@code max-wait} in a queue of at most {@code max-queue}; requests answered
+ * locally are admitted first and may use the {@code local-reserve} share of the limit that upstream lookups may not.
+ *
+ * @Author Andrea
+ * @Date 2025/12/23 10:20
+ * @Version 1.0
+ *
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    /**
+     * Multiplicative decrease applied when an upstream lookup reports overload
+     */
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final boolean enabled;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final int maxQueue;
+
+    private final long maxWaitNanos;
+
+    private final double localReserve;
+
+    private final double tolerance;
+
+    private final double smoothing;
+
+    private final long minRttWindowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition localTurn = lock.newCondition();
+
+    private final Condition upstreamTurn = lock.newCondition();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private Counter localRejections;
+
+    private Counter upstreamRejections;
+
+    // guarded by lock
+    private double limit;
+
+    private int inFlight;
+
+    private int localWaiting;
+
+    private int upstreamWaiting;
+
+    private long minRttNanos = Long.MAX_VALUE;
+
+    private long minRttResetAt;
+
+    public AdaptiveConcurrencyLimiter(@Value("${github.limiter.enabled:true}") boolean enabled,
+                                      @Value("${github.limiter.initial-limit:20}") int initialLimit,
+                                      @Value("${github.limiter.min-limit:4}") int minLimit,
+                                      @Value("${github.limiter.max-limit:200}") int maxLimit,
+                                      @Value("${github.limiter.max-queue:50}") int maxQueue,
+                                      @Value("${github.limiter.max-wait:50ms}") Duration maxWait,
+                                      @Value("${github.limiter.local-reserve:0.1}") double localReserve,
+                                      @Value("${github.limiter.tolerance:2.0}") double tolerance,
+                                      @Value("${github.limiter.smoothing:0.2}") double smoothing,
+                                      @Value("${github.limiter.min-rtt-window:1m}") Duration minRttWindow) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.localReserve = localReserve;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.minRttWindowNanos = minRttWindow.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.minRttResetAt = System.nanoTime() + minRttWindowNanos;
+    }
+
+    /**
+     * Admits a request, waiting up to {@code max-wait} for a slot.
+     *
+     * @param local whether the request can be answered without calling upstream
+     * @return the permit to release once the request completes, or {@code null} if the request is shed
+     */
+    public Permit tryAcquire(boolean local) {
+        if (!enabled) {
+            return new Permit(System.nanoTime());
+        }
+        lock.lock();
+        try {
+            if (!admissible(local)) {
+                if (localWaiting + upstreamWaiting >= maxQueue) {
+                    return reject(local);
+                }
+                long remaining = maxWaitNanos;
+                if (local) {
+                    localWaiting++;
+                } else {
+                    upstreamWaiting++;
+                }
+                try {
+                    while (!admissible(local) && remaining > 0) {
+                        remaining = (local ? localTurn : upstreamTurn).awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    remaining = 0;
+                } finally {
+                    if (local) {
+                        localWaiting--;
+                    } else {
+                        upstreamWaiting--;
+                    }
+                }
+                if (!admissible(local)) {
+                    return reject(local);
+                }
+            }
+            inFlight++;
+            return new Permit(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Local requests may use the whole limit; upstream ones leave the local reserve free and wait behind local ones.
+     */
+    private boolean admissible(boolean local) {
+        if (local) {
+            return inFlight < limit;
+        }
+        return localWaiting == 0 && inFlight < Math.max(1, limit * (1 - localReserve));
+    }
+
+    private Permit reject(boolean local) {
+        rejected.incrementAndGet();
+        Counter counter = local ? localRejections : upstreamRejections;
+        if (counter != null) {
+            counter.increment();
+        }
+        return null;
+    }
+
+    private void release(Permit permit, boolean upstream, boolean overloaded) {
+        long rtt = System.nanoTime() - permit.startNanos;
+        lock.lock();
+        try {
+            // sampled before this request leaves, to tell whether the limit was actually in use
+            int used = inFlight;
+            inFlight--;
+            if (upstream || overloaded) {
+                adjust(rtt, used, overloaded);
+            }
+            if (localWaiting > 0) {
+                localTurn.signal();
+            } else if (upstreamWaiting > 0) {
+                upstreamTurn.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(long rtt, int used, boolean overloaded) {
+        double newLimit;
+        if (overloaded) {
+            newLimit = limit * BACKOFF_RATIO;
+        } else {
+            long now = System.nanoTime();
+            if (now - minRttResetAt >= 0) {
+                // let the baseline follow upstream if it got slower for good
+                minRttNanos = Long.MAX_VALUE;
+                minRttResetAt = now + minRttWindowNanos;
+            }
+            minRttNanos = Math.min(minRttNanos, rtt);
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * minRttNanos / Math.max(1, rtt)));
+            if (gradient == 1.0 && used < limit / 2) {
+                // not using the limit says nothing about whether a higher one would be safe
+                return;
+            }
+            newLimit = limit * gradient + Math.sqrt(limit);
+            newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Snapshot of the limiter state, for the internal stats endpoint.
+     */
+    public Map<String, Object> stats() {
+        lock.lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", enabled);
+            stats.put("limit", (int) limit);
+            stats.put("inFlight", inFlight);
+            stats.put("localWaiting", localWaiting);
+            stats.put("upstreamWaiting", upstreamWaiting);
+            stats.put("minRttMillis", minRttNanos == Long.MAX_VALUE ? null : TimeUnit.NANOSECONDS.toMillis(minRttNanos));
+            stats.put("rejected", rejected.get());
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("repository.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on repository lookups in flight")
+                .register(registry);
+        Gauge.builder("repository.limiter.in_flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Repository lookups in flight")
+                .register(registry);
+        localRejections = rejectionCounter(registry, "local");
+        upstreamRejections = rejectionCounter(registry, "upstream");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, String priority) {
+        return Counter.builder("repository.limiter.rejected")
+                .description("Repository lookups shed by the concurrency limiter")
+                .tag("priority", priority)
+                .register(registry);
+    }
+
+    /**
+     * Admission of one request; must be released exactly once.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Releases the slot and, if the request waited on upstream, feeds its latency to the limit.
+         *
+         * @param upstream whether the request actually called upstream, as reported by the lookup
+         * @param overloaded whether the request failed because upstream is unavailable
+         */
+        public void release(boolean upstream, boolean overloaded) {
+            if (enabled) {
+                AdaptiveConcurrencyLimiter.this.release(this, upstream, overloaded);
+            }
+        }
+    }
+}
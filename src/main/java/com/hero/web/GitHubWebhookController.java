@@ -0,0 +1,112 @@
+package com.hero.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hero.biz.RepoCoordinate;
+import com.hero.integration.GitHubWebhookSignature;
+import com.hero.integration.PeerClient;
+import com.hero.integration.PeerUnavailableException;
+import com.hero.service.GitHubWebhookService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+/**
+ * Receives GitHub webhook deliveries. Every delivery must be signed with {@code github.webhook.secret};
+ * without a configured secret the endpoint is disabled. In a cluster, a delivery is forwarded to the instance owning
+ * the repository, so that it is applied where the repository is stored and cached; it is applied locally if that
+ * instance is unavailable.
+ *
+ * @Author Andrea
+ * @Date 2025/12/22 11:00
+ * @Version 1.0
+ *
+ */
+@Slf4j
+@RestController
+@RequestMapping("/webhooks")
+public class GitHubWebhookController {
+
+    private final GitHubWebhookService webhookService;
+
+    private final PeerClient peerClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final String secret;
+
+    public GitHubWebhookController(GitHubWebhookService webhookService, PeerClient peerClient, ObjectMapper objectMapper,
+                                   @Value("${github.webhook.secret:}") String secret) {
+        this.webhookService = webhookService;
+        this.peerClient = peerClient;
+        this.objectMapper = objectMapper;
+        this.secret = secret;
+    }
+
+    /**
+     * Endpoint GitHub posts {@code star}, {@code watch} and {@code repository} events to; other events are
+     * acknowledged and ignored. The signature is checked over the raw body before it is parsed.
+     *
+     * @param event the event name
+     * @param delivery the delivery id, for logging
+     * @param signature the HMAC-SHA256 signature of the body
+     * @param forwardedBy the peer that forwarded the delivery, if any
+     * @param body the raw JSON payload
+     * @return NO CONTENT once applied, UNAUTHORIZED for a missing or wrong signature
+     */
+    @PostMapping("/github")
+    public ResponseEntity<Void> receive(@RequestHeader("X-GitHub-Event") String event,
+                                        @RequestHeader(value = "X-GitHub-Delivery", required = false) String delivery,
+                                        @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+                                        @RequestHeader(value = PeerClient.FORWARDED_HEADER, required = false) String forwardedBy,
+                                        @RequestBody byte[] body) {
+        if (!StringUtils.hasText(secret)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Webhooks are not configured");
+        }
+        if (!GitHubWebhookSignature.matches(secret, body, signature)) {
+            log.warn("Rejected webhook delivery {} ({}): bad signature", delivery, event);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid signature");
+        }
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed payload", e);
+        }
+        RepoCoordinate target = forwardedBy == null ? webhookService.targetOf(event, payload) : null;
+        if (target != null && peerClient.isRemote(target.getOwner(), target.getRepoName())) {
+            try {
+                peerClient.forwardWebhook(target.getOwner(), target.getRepoName(),
+                        deliveryHeaders(event, delivery, signature), body);
+                log.debug("Webhook delivery {} ({}) forwarded to the owning peer", delivery, event);
+                return ResponseEntity.noContent().build();
+            } catch (PeerUnavailableException e) {
+                log.warn("Applying webhook delivery {} ({}) locally: {}", delivery, event, e.getMessage());
+            }
+        }
+        GitHubWebhookService.Outcome outcome = webhookService.handle(event, payload);
+        log.debug("Webhook delivery {} ({}): {}", delivery, event, outcome);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static HttpHeaders deliveryHeaders(String event, String delivery, String signature) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-GitHub-Event", event);
+        if (delivery != null) {
+            headers.set("X-GitHub-Delivery", delivery);
+        }
+        headers.set("X-Hub-Signature-256", signature);
+        return headers;
+    }
+}
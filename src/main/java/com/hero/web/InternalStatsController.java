@@ -0,0 +1,136 @@
+package com.hero.web;
+
+import com.google.common.cache.CacheStats;
+import com.hero.integration.GitHubTokenPool;
+import com.hero.service.CompactRepositoryStore;
+import com.hero.service.HotRepositoryRefresher;
+import com.hero.service.RepoDetailsCache;
+import com.hero.service.RepositoryWriteBehindBuffer;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only endpoints exposing internal runtime statistics for operators.
+ *
+ * @Author Andrea
+ * @Date 2025/12/2 10:40
+ * @Version 1.0
+ *
+ */
+@RestController
+@RequestMapping("/internal/stats")
+public class InternalStatsController {
+
+    private final RepoDetailsCache repoCache;
+
+    private final PoolingHttpClientConnectionManager gitHubConnectionManager;
+
+    private final GitHubTokenPool tokenPool;
+
+    private final RepositoryWriteBehindBuffer writeBehind;
+
+    private final HotRepositoryRefresher refresher;
+
+    private final CompactRepositoryStore compactStore;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public InternalStatsController(RepoDetailsCache repoCache, PoolingHttpClientConnectionManager gitHubConnectionManager,
+                                   GitHubTokenPool tokenPool, RepositoryWriteBehindBuffer writeBehind,
+                                   HotRepositoryRefresher refresher, CompactRepositoryStore compactStore,
+                                   AdaptiveConcurrencyLimiter limiter) {
+        this.repoCache = repoCache;
+        this.gitHubConnectionManager = gitHubConnectionManager;
+        this.tokenPool = tokenPool;
+        this.writeBehind = writeBehind;
+        this.refresher = refresher;
+        this.compactStore = compactStore;
+        this.limiter = limiter;
+    }
+
+    /**
+     * Returns the hit/miss/eviction counters of the repository details cache.
+     */
+    @GetMapping("/cache")
+    public Map<String, Object> cacheStats() {
+        CacheStats stats = repoCache.stats();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("size", repoCache.size());
+        body.put("hitCount", stats.hitCount());
+        body.put("missCount", stats.missCount());
+        body.put("hitRate", stats.hitRate());
+        body.put("evictionCount", stats.evictionCount());
+        body.put("hottest", repoCache.hottest(10));
+        return body;
+    }
+
+    /**
+     * Returns the connection pool statistics of the GitHub HTTP client.
+     */
+    @GetMapping("/github-pool")
+    public Map<String, Object> gitHubPoolStats() {
+        PoolStats stats = gitHubConnectionManager.getTotalStats();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("leased", stats.getLeased());
+        body.put("available", stats.getAvailable());
+        body.put("pending", stats.getPending());
+        body.put("max", stats.getMax());
+        body.put("routes", gitHubConnectionManager.getRoutes().size());
+        return body;
+    }
+
+    /**
+     * Returns the remaining rate-limit budget of every configured GitHub token.
+     */
+    @GetMapping("/github-tokens")
+    public List<GitHubTokenPool.TokenBudget> gitHubTokenBudgets() {
+        return tokenPool.budgets();
+    }
+
+    /**
+     * Returns the queue depth and write counters of the write-behind persistence buffer.
+     */
+    @GetMapping("/write-behind")
+    public Map<String, Object> writeBehindStats() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("queued", writeBehind.queuedCount());
+        body.put("flushed", writeBehind.flushedCount());
+        body.put("synchronousWrites", writeBehind.synchronousWriteCount());
+        return body;
+    }
+
+    /**
+     * Returns the counters of the background refresher.
+     */
+    @GetMapping("/refresh")
+    public Map<String, Object> refreshStats() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("refreshed", refresher.refreshedCount());
+        body.put("skipped", refresher.skippedCount());
+        body.put("failed", refresher.failedCount());
+        return body;
+    }
+
+    /**
+     * Returns the size and memory footprint of the compact repository store, including bytes per entry.
+     */
+    @GetMapping("/compact-store")
+    public Map<String, Object> compactStoreStats() {
+        return compactStore.stats();
+    }
+
+    /**
+     * Returns the current limit, in-flight and queued lookups of the repository concurrency limiter.
+     */
+    @GetMapping("/limiter")
+    public Map<String, Object> limiterStats() {
+        return limiter.stats();
+    }
+}
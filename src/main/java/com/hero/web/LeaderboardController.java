@@ -0,0 +1,53 @@
+package com.hero.web;
+
+import com.hero.biz.RepositoryResponse;
+import com.hero.service.RepositoryLeaderboard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Star ranking of the stored repositories. Kept outside {@code /repositories}, where any single path segment
+ * names an owner.
+ *
+ * @Author Andrea
+ * @Date 2025/12/18 10:40
+ * @Version 1.0
+ *
+ */
+@RestController
+@RequestMapping("/leaderboard")
+public class LeaderboardController {
+
+    private final RepositoryLeaderboard leaderboard;
+
+    @Value("${github.leaderboard.max-limit:100}")
+    private int maxTopLimit;
+
+    public LeaderboardController(RepositoryLeaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Endpoint to retrieve the stored repositories with the most stars, answered from the in-memory leaderboard.
+     *
+     * @param owner the owner to rank within; omitted to rank all repositories
+     * @param limit the number of repositories, at most {@code github.leaderboard.max-limit}
+     * @return the repositories, most stars first
+     */
+    @GetMapping
+    public List<RepositoryResponse> getTopRepositories(@RequestParam(required = false) String owner,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > maxTopLimit) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a limit between 1 and " + maxTopLimit);
+        }
+        return leaderboard.top(StringUtils.hasText(owner) ? owner : null, limit);
+    }
+}
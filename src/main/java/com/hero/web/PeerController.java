@@ -0,0 +1,48 @@
+package com.hero.web;
+
+import com.hero.biz.RepositoryResponse;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.integration.PeerClient;
+import com.hero.service.RepoDetailsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Internal endpoint through which peer instances ask this instance for the repositories it owns.
+ *
+ * @Author Andrea
+ * @Date 2025/12/21 11:00
+ * @Version 1.0
+ *
+ */
+@RestController
+@RequestMapping("/internal/peer")
+public class PeerController {
+
+    private final RepoDetailsService repoDetailsService;
+
+    public PeerController(RepoDetailsService repoDetailsService) {
+        this.repoDetailsService = repoDetailsService;
+    }
+
+    /**
+     * Resolves a repository on this instance, without forwarding to another peer.
+     * Not found answers 404 and an unavailable GitHub with nothing stored 503, both through the exception mapping.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @return the repository details, flagged with {@link PeerClient#STALE_HEADER} when served from storage
+     */
+    @GetMapping("/repositories/{owner}/{repoName}")
+    public ResponseEntity<RepositoryResponse> getRepository(@PathVariable String owner, @PathVariable String repoName) {
+        RepositoryInfo info = repoDetailsService.getRepositoryDetailsForPeer(owner, repoName);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (info.isStale()) {
+            response.header(PeerClient.STALE_HEADER, "true");
+        }
+        return response.body(new RepositoryResponse(info));
+    }
+}
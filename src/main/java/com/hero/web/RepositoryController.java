@@ -1,16 +1,34 @@
 package com.hero.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hero.biz.OwnerRepositoriesResponse;
+import com.hero.biz.RepoCoordinate;
 import com.hero.biz.RepositoryResponse;
+import com.hero.biz.StarHistoryResponse;
 import com.hero.dao.entity.RepositoryInfo;
+import com.hero.service.OwnerRepositoriesService;
+import com.hero.service.RepoBatchService;
 import com.hero.service.RepoDetailsService;
+import com.hero.service.StarHistoryService;
+import com.hero.util.GitHubUnavailableException;
 import com.hero.util.RepoNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
 
 /**
  * The RepositoryController class is a REST controller that handles HTTP requests for GitHub repository details.
@@ -25,32 +43,265 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/repositories")
 public class RepositoryController {
 
+    /**
+     * Set to {@code true} on responses served from storage because GitHub was unavailable
+     */
+    static final String STALE_HEADER = "X-Data-Stale";
+
+    private static final Duration MIN_STAR_HISTORY_STEP = Duration.ofMinutes(1);
+
     private final RepoDetailsService repoDetailsService;
 
-    public RepositoryController(RepoDetailsService repoDetailsService) {
+    private final StarHistoryService starHistoryService;
+
+    private final RepoBatchService repoBatchService;
+
+    private final OwnerRepositoriesService ownerRepositoriesService;
+
+    private final ObjectMapper objectMapper;
+
+    private final RepositoryResponseCache responseCache;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Value("${github.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${github.listing.max-page-size:100}")
+    private int maxOwnerPageSize;
+
+    @Value("${github.history.max-points:10000}")
+    private int maxStarHistoryPoints;
+
+    @Value("${github.limiter.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Value("${github.api.non-blocking:false}")
+    private boolean nonBlocking;
+
+    public RepositoryController(RepoDetailsService repoDetailsService, StarHistoryService starHistoryService,
+                                RepoBatchService repoBatchService, OwnerRepositoriesService ownerRepositoriesService,
+                                ObjectMapper objectMapper, RepositoryResponseCache responseCache,
+                                AdaptiveConcurrencyLimiter limiter) {
         this.repoDetailsService = repoDetailsService;
+        this.starHistoryService = starHistoryService;
+        this.repoBatchService = repoBatchService;
+        this.ownerRepositoriesService = ownerRepositoriesService;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+        this.limiter = limiter;
     }
 
     /**
      * Endpoint to retrieve GitHub repository details by owner and repository name.
+     * With {@code github.api.non-blocking} enabled, the servlet thread is released while the lookup is in flight;
+     * otherwise the lookup runs on the servlet thread and the response is returned as is, without async dispatch.
+     * Bodies are served pre-serialized (gzipped when accepted) with a strong {@code ETag}; a matching
+     * {@code If-None-Match} is answered with 304 from the response cache, without a lookup.
+     * Lookups are admitted by the {@link AdaptiveConcurrencyLimiter}; shed requests get 503 with {@code Retry-After}.
      *
      * @param owner the username of the repository owner
      * @param repoName the name of the repository
-     * @return a ResponseEntity containing the repository details or a NOT FOUND status
+     * @param ifNoneMatch entity tags of the copy the client already has, if any
+     * @param acceptEncoding the client's accepted content codings, if any
+     * @return a ResponseEntity containing the repository details, a NOT MODIFIED, NOT FOUND or SERVICE UNAVAILABLE
+     * status; in non-blocking mode a {@code CompletableFuture} of it
      */
     @GetMapping("/{owner}/{repoName}")
-    public ResponseEntity<RepositoryResponse> getRepoDetails(
+    public Object getRepoDetails(
             @PathVariable String owner,
-            @PathVariable String repoName) {
+            @PathVariable String repoName,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        RepositoryResponseCache.SerializedRepository cached = responseCache.get(owner, repoName);
+        if (cached != null && cached.matches(ifNoneMatch)) {
+            return notModified(cached, acceptEncoding);
+        }
+        // cached repositories are admitted ahead of lookups that may have to wait on GitHub
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(repoDetailsService.isCached(owner, repoName));
+        if (permit == null) {
+            return shed();
+        }
+        if (nonBlocking) {
+            return repoDetailsService.lookupRepositoryDetailsAsync(owner, repoName)
+                    .whenComplete((lookup, error) -> release(permit, lookup, error))
+                    .handle((lookup, error) -> respond(owner, repoName, lookup, error, ifNoneMatch, acceptEncoding));
+        }
+        RepoDetailsService.Lookup lookup;
         try {
-            RepositoryInfo info = repoDetailsService.getRepositoryDetails(owner, repoName);
-            // Map to response DTO (to control JSON format)
-            RepositoryResponse response = new RepositoryResponse(info);
-            return ResponseEntity.ok(response);
-        } catch (RepoNotFoundException e) {
-            log.error("Repository not found: {}/{}", owner, repoName, e);
+            lookup = repoDetailsService.lookupRepositoryDetails(owner, repoName);
+        } catch (RuntimeException e) {
+            release(permit, null, e);
+            return respond(owner, repoName, null, e, ifNoneMatch, acceptEncoding);
+        }
+        release(permit, lookup, null);
+        return respond(owner, repoName, lookup, null, ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Only lookups that waited on GitHub tell the limiter anything about its latency.
+     */
+    private static void release(AdaptiveConcurrencyLimiter.Permit permit, RepoDetailsService.Lookup lookup, Throwable error) {
+        permit.release(lookup != null && lookup.isFromGitHub(),
+                upstreamUnavailable(lookup == null ? null : lookup.getInfo(), error));
+    }
+
+    private ResponseEntity<byte[]> respond(String owner, String repoName, RepoDetailsService.Lookup lookup,
+                                           Throwable error, String ifNoneMatch, String acceptEncoding) {
+        if (error == null) {
+            RepositoryInfo info = lookup.getInfo();
+            if (info.isStale()) {
+                // fallback copy, never cached
+                return ok(responseCache.serializeUncached(info), acceptEncoding, true);
+            }
+            RepositoryResponseCache.SerializedRepository serialized = responseCache.serialize(info);
+            return serialized.matches(ifNoneMatch) ? notModified(serialized, acceptEncoding) : ok(serialized, acceptEncoding, false);
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RepoNotFoundException) {
+            log.error("Repository not found: {}/{}", owner, repoName, cause);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(null);
+                    .<byte[]>body(null);
+        }
+        throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+    }
+
+    /**
+     * Endpoint to list all repositories of a user or organization, one keyset page at a time.
+     * The first page refreshes the owner's listing from GitHub when it is due; later pages are read from the database.
+     *
+     * @param owner the username of the user or organization
+     * @param cursor the {@code nextCursor} of the previous page; omitted for the first page
+     * @param limit the page size, at most {@code github.listing.max-page-size}
+     * @return the page of repositories in name order, with the cursor of the next page
+     */
+    @GetMapping("/{owner}")
+    public OwnerRepositoriesResponse getOwnerRepositories(@PathVariable String owner,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > maxOwnerPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Expected a limit between 1 and " + maxOwnerPageSize);
         }
+        return ownerRepositoriesService.listRepositories(owner, cursor, limit);
+    }
+
+    /**
+     * Endpoint to retrieve the star history of a stored repository, downsampled on the server.
+     *
+     * @param owner the username of the repository owner
+     * @param repoName the name of the repository
+     * @param from start of the range in ISO 8601 format, inclusive; defaults to 30 days before {@code to}
+     * @param to end of the range in ISO 8601 format, exclusive; defaults to now
+     * @param step bucket width in ISO 8601 duration format, at least one minute; defaults to one day
+     * @return one point per bucket that holds samples
+     */
+    @GetMapping("/{owner}/{repoName}/stars")
+    public StarHistoryResponse getStarHistory(@PathVariable String owner,
+                                              @PathVariable String repoName,
+                                              @RequestParam(required = false) String from,
+                                              @RequestParam(required = false) String to,
+                                              @RequestParam(defaultValue = "P1D") String step) {
+        Instant end;
+        Instant start;
+        Duration width;
+        try {
+            end = to == null ? Instant.now() : Instant.parse(to);
+            start = from == null ? end.minus(Duration.ofDays(30)) : Instant.parse(from);
+            width = Duration.parse(step);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        if (!start.isBefore(end) || width.compareTo(MIN_STAR_HISTORY_STEP) < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Expected from < to and a step of at least " + MIN_STAR_HISTORY_STEP);
+        }
+        if (Duration.between(start, end).toMillis() / width.toMillis() > maxStarHistoryPoints) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Range and step exceed the maximum of " + maxStarHistoryPoints + " points");
+        }
+        return starHistoryService.getStarHistory(owner, repoName, start, end, width);
+    }
+
+    /**
+     * Endpoint to retrieve the details of many repositories at once.
+     * Results are streamed back as NDJSON, one line per repository in completion order;
+     * not-found and failed items are reported inline instead of failing the whole batch.
+     *
+     * @param repositories the owner/repo pairs to resolve
+     * @return a streamed NDJSON body
+     */
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getRepoDetailsBatch(@RequestBody List<RepoCoordinate> repositories) {
+        if (repositories.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch size " + repositories.size() + " exceeds the maximum of " + maxBatchSize);
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                repoBatchService.resolveAll(repositories, result -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(result));
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (UncheckedIOException e) {
+                // the client went away, stop streaming
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static ResponseEntity<byte[]> ok(RepositoryResponseCache.SerializedRepository serialized,
+                                             String acceptEncoding, boolean stale) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(serialized.etag(gzip))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (stale) {
+            response.header(STALE_HEADER, "true");
+        }
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(serialized.getGzipped());
+        }
+        return response.body(serialized.getJson());
+    }
+
+    private ResponseEntity<byte[]> shed() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.getSeconds())))
+                .build();
+    }
+
+    /**
+     * Whether a lookup tells that GitHub is overloaded or unreachable: it failed for that, or fell back to storage.
+     */
+    private static boolean upstreamUnavailable(RepositoryInfo info, Throwable error) {
+        if (error == null) {
+            return info != null && info.isStale();
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof GitHubUnavailableException;
+    }
+
+    private static ResponseEntity<byte[]> notModified(RepositoryResponseCache.SerializedRepository serialized,
+                                                      String acceptEncoding) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(serialized.etag(acceptsGzip(acceptEncoding)))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
     }
 }
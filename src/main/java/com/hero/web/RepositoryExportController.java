@@ -0,0 +1,95 @@
+package com.hero.web;
+
+import com.hero.service.RepositoryExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk exports for analytics jobs. Kept outside {@code /repositories}, where any single path segment names an owner.
+ *
+ * @Author Andrea
+ * @Date 2025/12/24 10:40
+ * @Version 1.0
+ *
+ */
+@RestController
+@RequestMapping("/exports")
+public class RepositoryExportController {
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    private final RepositoryExportService exportService;
+
+    @Value("${github.export.retry-after:30s}")
+    private Duration retryAfter;
+
+    public RepositoryExportController(RepositoryExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Endpoint to export every stored repository, streamed straight from a database cursor.
+     * Written synchronously on the request thread, so a long export is not cut by the async request timeout;
+     * gzipped when the client accepts it. Exports over {@code github.export.max-concurrent} are refused with
+     * TOO MANY REQUESTS and a {@code Retry-After}.
+     *
+     * @param format {@code ndjson} (default) or {@code csv}
+     * @param since only repositories written at or after this instant, in ISO 8601 format; omitted for all
+     * @param acceptEncoding the client's accepted content codings, if any
+     * @param response the response the export is written to
+     */
+    @GetMapping("/repositories")
+    public void exportRepositories(@RequestParam(defaultValue = "ndjson") String format,
+                                   @RequestParam(required = false) String since,
+                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                   HttpServletResponse response) throws IOException {
+        RepositoryExportService.ExportFormat exportFormat;
+        Instant from;
+        try {
+            exportFormat = RepositoryExportService.ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+            from = since == null ? null : Instant.parse(since);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected format ndjson or csv and an ISO 8601 since", e);
+        }
+        if (!exportService.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.getSeconds())));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+        try {
+            boolean csv = exportFormat == RepositoryExportService.ExportFormat.CSV;
+            response.setContentType(csv ? "text/csv;charset=UTF-8" : MediaType.APPLICATION_NDJSON_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"repositories." + (csv ? "csv" : "ndjson") + "\"");
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            try (OutputStream out = gzip
+                    ? new GZIPOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE)
+                    : new BufferedOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE)) {
+                exportService.export(exportFormat, from, out);
+            }
+        } finally {
+            exportService.release();
+        }
+    }
+}
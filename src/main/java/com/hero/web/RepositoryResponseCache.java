@@ -0,0 +1,177 @@
+package com.hero.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.hero.biz.RepositoryResponse;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.service.RepoDetailsCache;
+import com.hero.service.RepositoryRemovedEvent;
+import com.hero.service.RepositoryUpdatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized {@code GET /repositories/{owner}/{repoName}} bodies, plain and gzipped, per repository.
+ * An entry is versioned by the repository's content hash, which is also its strong {@code ETag} (suffixed with
+ * {@code -gzip} for the gzipped variant, as strong tags must differ per representation): it is reused
+ * as long as the content is unchanged and rebuilt otherwise. Entries expire after the soft TTL of the
+ * repository cache, and are dropped as soon as new content is stored (see {@link RepositoryUpdatedEvent}),
+ * so a conditional request answered from here is never older than one answered by the service.
+ *
+ * @Author Andrea
+ * @Date 2025/12/16 10:20
+ * @Version 1.0
+ *
+ */
+@Component
+public class RepositoryResponseCache implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<String, SerializedRepository> cache;
+
+    public RepositoryResponseCache(ObjectMapper objectMapper,
+                                   @Value("${github.cache.soft-ttl:5m}") Duration softTtl,
+                                   @Value("${github.cache.maximum-size:10000}") long maximumSize) {
+        this.objectMapper = objectMapper;
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(softTtl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the serialized response of a repository, or {@code null} if none is cached.
+     */
+    public SerializedRepository get(String owner, String repoName) {
+        return cache.getIfPresent(RepoDetailsCache.key(owner, repoName));
+    }
+
+    /**
+     * Returns the serialized response for {@code info}, serializing it only if its content version is not cached yet.
+     */
+    public SerializedRepository serialize(RepositoryInfo info) {
+        String key = RepoDetailsCache.key(info.getOwner(), info.getRepoName());
+        SerializedRepository cached = cache.getIfPresent(key);
+        if (cached != null && info.getContentHash() != null && cached.version.equals(info.getContentHash())) {
+            return cached;
+        }
+        SerializedRepository serialized = serializeUncached(info);
+        cache.put(key, serialized);
+        return serialized;
+    }
+
+    /**
+     * Serializes {@code info} without caching it, e.g. for a stale fallback copy.
+     */
+    public SerializedRepository serializeUncached(RepositoryInfo info) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(new RepositoryResponse(info));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize repository " + info.getFullName(), e);
+        }
+        // rows written before content hashing have none, version those by their serialized form
+        String version = info.getContentHash() != null ? info.getContentHash() : Hashing.sha256().hashBytes(json).toString();
+        return new SerializedRepository(version, json, gzip(json));
+    }
+
+    @EventListener
+    public void onRepositoryUpdated(RepositoryUpdatedEvent event) {
+        cache.invalidate(RepoDetailsCache.key(event.getOwner(), event.getRepoName()));
+    }
+
+    @EventListener
+    public void onRepositoryRemoved(RepositoryRemovedEvent event) {
+        cache.invalidate(RepoDetailsCache.key(event.getOwner(), event.getRepoName()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, cache, "repoResponses");
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Getter
+    public static class SerializedRepository {
+
+        /**
+         * Content version the bytes were built from
+         */
+        private final String version;
+
+        /**
+         * Strong entity tag of the plain JSON body, quoted as sent in the {@code ETag} header
+         */
+        private final String etag;
+
+        /**
+         * Strong entity tag of the gzipped body, quoted as sent in the {@code ETag} header
+         */
+        private final String gzipEtag;
+
+        private final byte[] json;
+
+        private final byte[] gzipped;
+
+        SerializedRepository(String version, byte[] json, byte[] gzipped) {
+            this.version = version;
+            String tag = version.substring(0, Math.min(32, version.length()));
+            this.etag = "\"" + tag + "\"";
+            this.gzipEtag = "\"" + tag + "-gzip\"";
+            this.json = json;
+            this.gzipped = gzipped;
+        }
+
+        /**
+         * Entity tag of the representation sent with or without gzip content coding
+         */
+        public String etag(boolean gzip) {
+            return gzip ? gzipEtag : etag;
+        }
+
+        /**
+         * Whether an {@code If-None-Match} header value matches either representation of this entity; weak comparison,
+         * as RFC 7232 requires for GET.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag) || candidate.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
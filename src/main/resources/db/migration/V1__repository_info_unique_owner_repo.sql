@@ -0,0 +1,33 @@
+-- repository_info predates the migrations; it is only created here on an empty schema
+CREATE TABLE IF NOT EXISTS repository_info (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    owner       VARCHAR(255),
+    repo_name   VARCHAR(255),
+    full_name   VARCHAR(255),
+    description VARCHAR(255),
+    clone_url   VARCHAR(255),
+    stars       INT    NOT NULL,
+    created_at  DATETIME(6),
+    created_by  VARCHAR(255),
+    create_time DATETIME(6),
+    updated_by  VARCHAR(255),
+    update_time DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- keep the newest row (highest id) per owner/repo; the derived table lets MySQL read the table it deletes from
+DELETE FROM repository_info
+WHERE id IN (SELECT id
+             FROM (SELECT older.id
+                   FROM repository_info older
+                            JOIN repository_info newer
+                                 ON newer.owner = older.owner
+                                     AND newer.repo_name = older.repo_name
+                                     AND newer.id > older.id) duplicates);
+
+-- content hash and upstream validators of the last GitHub response
+ALTER TABLE repository_info ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE repository_info ADD COLUMN etag VARCHAR(255);
+ALTER TABLE repository_info ADD COLUMN last_modified VARCHAR(255);
+
+ALTER TABLE repository_info ADD CONSTRAINT uk_repository_info_owner_repo UNIQUE (owner, repo_name);
@@ -0,0 +1,12 @@
+-- pooled table generator of RepositoryInfo ids (allocationSize 50), replacing IDENTITY so inserts can be batched
+CREATE TABLE id_generator (
+    name     VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (name)
+);
+
+-- Hibernate's pooled optimizer hands out next_val - 49 .. next_val, so next_val is seeded one allocation above
+-- the highest IDENTITY id: the first id handed out is MAX(id) + 2
+INSERT INTO id_generator (name, next_val)
+SELECT 'repository_info', COALESCE(MAX(id), 0) + 51
+FROM repository_info;
@@ -0,0 +1,7 @@
+-- star-count samples; the (repository_id, sampled_at) key makes every range query a primary key range scan
+CREATE TABLE repository_star_history (
+    repository_id BIGINT NOT NULL,
+    sampled_at    BIGINT NOT NULL,
+    stars         INT    NOT NULL,
+    PRIMARY KEY (repository_id, sampled_at)
+);
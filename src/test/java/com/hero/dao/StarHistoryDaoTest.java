@@ -0,0 +1,71 @@
+package com.hero.dao;
+
+import com.hero.dao.entity.StarSample;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the {@code StarHistoryDao} native queries against an embedded H2 database, with the schema created
+ * by the Flyway migrations.
+ *
+ * @Author Andrea
+ * @Date 2025/12/26 10:30
+ * @Version 1.0
+ *
+ */
+@DataJpaTest
+class StarHistoryDaoTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Autowired
+    private StarHistoryDao starHistoryDao;
+
+    @Test
+    @DisplayName("Samples are downsampled into fixed-width buckets with min, max and count, oldest first")
+    void givenSamples_whenFindDownsampled_thenOneRowPerNonEmptyBucket() {
+        // Given: two samples in the first hour, none in the second, one in the third, and one of another repository
+        starHistoryDao.saveAll(Arrays.asList(
+                new StarSample(1L, 10 * HOUR + 1_000, 80),
+                new StarSample(1L, 10 * HOUR + 2_000, 83),
+                new StarSample(1L, 12 * HOUR + 5_000, 90),
+                new StarSample(2L, 10 * HOUR + 1_000, 7)));
+        starHistoryDao.flush();
+
+        // When
+        List<StarHistoryDao.StarBucket> buckets = starHistoryDao.findDownsampled(1L, 10 * HOUR, 13 * HOUR, HOUR);
+
+        // Then: bucket starts come back as Long whatever numeric type the database computes them in
+        assertEquals(2, buckets.size());
+        assertEquals(Long.valueOf(10 * HOUR), buckets.get(0).getBucket());
+        assertEquals(Integer.valueOf(80), buckets.get(0).getMinStars());
+        assertEquals(Integer.valueOf(83), buckets.get(0).getMaxStars());
+        assertEquals(Long.valueOf(2), buckets.get(0).getSamples());
+        assertEquals(Long.valueOf(12 * HOUR), buckets.get(1).getBucket());
+        assertEquals(Long.valueOf(1), buckets.get(1).getSamples());
+    }
+
+    @Test
+    @DisplayName("The range is inclusive at its start and exclusive at its end")
+    void givenSamplesOnBounds_whenFindDownsampled_thenEndExcluded() {
+        // Given
+        starHistoryDao.saveAll(Arrays.asList(
+                new StarSample(1L, 10 * HOUR, 80),
+                new StarSample(1L, 11 * HOUR, 81)));
+        starHistoryDao.flush();
+
+        // When
+        List<StarHistoryDao.StarBucket> buckets = starHistoryDao.findDownsampled(1L, 10 * HOUR, 11 * HOUR, HOUR);
+
+        // Then
+        assertEquals(1, buckets.size());
+        assertEquals(Integer.valueOf(80), buckets.get(0).getMaxStars());
+    }
+}
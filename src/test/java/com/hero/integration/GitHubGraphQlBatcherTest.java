@@ -0,0 +1,121 @@
+package com.hero.integration;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.hero.biz.dto.GitHubRepoDTO;
+import org.junit.jupiter.api.*;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@code GitHubGraphQlBatcher} class against a stubbed GraphQL endpoint.
+ *
+ * @Author Andrea
+ * @Date 2025/12/8 14:30
+ * @Version 1.0
+ *
+ */
+class GitHubGraphQlBatcherTest {
+
+    private static WireMockServer wireMockServer;
+
+    private GitHubGraphQlBatcher batcher;
+
+    @BeforeAll
+    static void startWireMock() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        wireMockServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        wireMockServer.resetAll();
+        GitHubTokenPool tokenPool = new GitHubTokenPool(Collections.singletonList("test-token"), Clock.systemUTC());
+        batcher = new GitHubGraphQlBatcher(new RestTemplate(), wireMockServer.baseUrl() + "/graphql", tokenPool,
+                Duration.ofMillis(50), 10, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Fetches within one window are sent as a single aliased query and fanned back out")
+    void givenFetchesWithinWindow_whenFetch_thenSingleQueryServesAll() throws Exception {
+        // 1. setup WireMock stub - r0 exists, r1 does not
+        wireMockServer.stubFor(post(urlEqualTo("/graphql"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"data\":{"
+                    + "\"r0\":{\"nameWithOwner\":\"octocat/Hello-World\","
+                    + "\"description\":\"This is your first repo!\","
+                    + "\"url\":\"https://github.com/octocat/Hello-World\","
+                    + "\"stargazerCount\":80,"
+                    + "\"createdAt\":\"2025-01-26T19:01:12Z\"},"
+                    + "\"r1\":null},"
+                    + "\"errors\":[{\"type\":\"NOT_FOUND\",\"path\":[\"r1\"]}]}")));
+
+        // 2. request three repositories within the same window, one of them twice
+        CompletableFuture<GitHubRepoDTO> first = batcher.fetch("octocat", "Hello-World");
+        CompletableFuture<GitHubRepoDTO> missing = batcher.fetch("someuser", "unknownrepo");
+        CompletableFuture<GitHubRepoDTO> duplicate = batcher.fetch("octocat", "Hello-World");
+
+        // 3. verify results
+        GitHubRepoDTO dto = first.get(5, TimeUnit.SECONDS);
+        assertEquals("octocat/Hello-World", dto.getFullName());
+        assertEquals("https://github.com/octocat/Hello-World.git", dto.getCloneUrl());
+        assertEquals(80, dto.getStargazersCount());
+        assertSame(dto, duplicate.get(5, TimeUnit.SECONDS));
+        assertNull(missing.get(5, TimeUnit.SECONDS));
+
+        // 4. verify a single authenticated upstream call was made
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/graphql"))
+                .withHeader("Authorization", equalTo("Bearer test-token")));
+    }
+
+    @Test
+    @DisplayName("Batches over the queue bound fail at once instead of piling up")
+    void givenQueueFull_whenFetch_thenRejected() throws Exception {
+        // Given: one request thread, one queued batch, and every fetch is a batch of its own
+        wireMockServer.stubFor(post(urlEqualTo("/graphql"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(500)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"data\":{\"r0\":null},\"errors\":[{\"type\":\"NOT_FOUND\",\"path\":[\"r0\"]}]}")));
+        GitHubTokenPool tokenPool = new GitHubTokenPool(Collections.singletonList("test-token"), Clock.systemUTC());
+        GitHubGraphQlBatcher bounded = new GitHubGraphQlBatcher(new RestTemplate(), wireMockServer.baseUrl() + "/graphql",
+                tokenPool, Duration.ofMillis(50), 1, 1, 1);
+        try {
+            // When
+            CompletableFuture<GitHubRepoDTO> running = bounded.fetch("octocat", "running");
+            CompletableFuture<GitHubRepoDTO> queued = bounded.fetch("octocat", "queued");
+            CompletableFuture<GitHubRepoDTO> rejected = bounded.fetch("octocat", "rejected");
+
+            // Then
+            ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(100, TimeUnit.MILLISECONDS));
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+            assertNull(running.get(5, TimeUnit.SECONDS));
+            assertNull(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            bounded.shutdown();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.hero.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@code GitHubLinkHeader} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/18 11:10
+ * @Version 1.0
+ *
+ */
+class GitHubLinkHeaderTest {
+
+    @Test
+    @DisplayName("The last page is read from the rel=\"last\" link wherever it appears")
+    void givenLinkHeader_whenLastPage_thenPageOfLastLink() {
+        // Given
+        String link = "<https://api.github.com/user/47359/repos?type=owner&per_page=100&page=2>; rel=\"next\", "
+                + "<https://api.github.com/user/47359/repos?type=owner&per_page=100&page=27>; rel=\"last\"";
+
+        // When / Then
+        assertEquals(27, GitHubLinkHeader.lastPage(link));
+    }
+
+    @Test
+    @DisplayName("Without a last link there is a single page")
+    void givenNoLastLink_whenLastPage_thenOne() {
+        assertEquals(1, GitHubLinkHeader.lastPage(null));
+        assertEquals(1, GitHubLinkHeader.lastPage(""));
+        assertEquals(1, GitHubLinkHeader.lastPage(
+                "<https://api.github.com/user/47359/repos?page=26>; rel=\"prev\", <https://api.github.com/user/47359/repos?page=1>; rel=\"first\""));
+    }
+}
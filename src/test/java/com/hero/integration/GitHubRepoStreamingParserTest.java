@@ -0,0 +1,112 @@
+package com.hero.integration;
+
+import com.hero.biz.dto.GitHubRepoDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code GitHubRepoStreamingParser} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/15 11:00
+ * @Version 1.0
+ *
+ */
+class GitHubRepoStreamingParserTest {
+
+    private final GitHubRepoStreamingParser parser = new GitHubRepoStreamingParser();
+
+    @Test
+    @DisplayName("Projected fields are read and nested objects and arrays are skipped")
+    void givenFullPayload_whenParse_thenReadProjectedFields() throws IOException {
+        // Given: projected fields before and after nested values that contain the same field names
+        String body = "{"
+                + "\"id\":1296269,"
+                + "\"owner\":{\"login\":\"octocat\",\"full_name\":\"not-this\",\"created_at\":\"1999-01-01T00:00:00Z\"},"
+                + "\"full_name\":\"octocat/Hello-World\","
+                + "\"topics\":[\"a\",{\"clone_url\":\"not-this\"}],"
+                + "\"description\":\"This is your first repo!\","
+                + "\"private\":false,"
+                + "\"clone_url\":\"https://github.com/octocat/Hello-World.git\","
+                + "\"stargazers_count\":80,"
+                + "\"license\":null,"
+                + "\"created_at\":\"2025-01-26T19:01:12Z\","
+                + "\"permissions\":{\"admin\":false,\"push\":false}"
+                + "}";
+
+        // When
+        GitHubRepoDTO dto = parse(body);
+
+        // Then
+        assertEquals("octocat/Hello-World", dto.getFullName());
+        assertEquals("This is your first repo!", dto.getDescription());
+        assertEquals("https://github.com/octocat/Hello-World.git", dto.getCloneUrl());
+        assertEquals(80, dto.getStargazersCount());
+        assertEquals(Instant.parse("2025-01-26T19:01:12Z"), dto.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Null fields stay null and fractional timestamps fall back to ISO parsing")
+    void givenNullsAndFractionalTimestamp_whenParse_thenMapAsIs() throws IOException {
+        // When
+        GitHubRepoDTO dto = parse("{\"description\":null,\"created_at\":\"2025-01-26T19:01:12.250Z\"}");
+
+        // Then
+        assertNull(dto.getDescription());
+        assertNull(dto.getFullName());
+        assertEquals(Instant.parse("2025-01-26T19:01:12.250Z"), dto.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("An empty body yields no repository")
+    void givenEmptyBody_whenParse_thenNull() throws IOException {
+        assertNull(parse(""));
+    }
+
+    @Test
+    @DisplayName("Listing bodies yield one repository per array element")
+    void givenListingBody_whenParseList_thenOneRepositoryPerElement() throws IOException {
+        // Given
+        String body = "[{\"full_name\":\"octocat/a\",\"owner\":{\"login\":\"octocat\"},\"stargazers_count\":1},"
+                + "{\"full_name\":\"octocat/b\",\"topics\":[\"x\"],\"stargazers_count\":2}]";
+
+        // When
+        List<GitHubRepoDTO> repositories = parser.parseList(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(2, repositories.size());
+        assertEquals("octocat/a", repositories.get(0).getFullName());
+        assertEquals(2, repositories.get(1).getStargazersCount());
+    }
+
+    @Test
+    @DisplayName("The response stream is left open for its owner to close")
+    void givenStream_whenParse_thenNotClosed() throws IOException {
+        // Given
+        boolean[] closed = {false};
+        ByteArrayInputStream in = new ByteArrayInputStream("{\"stargazers_count\":1}".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        // When
+        parser.parse(in);
+
+        // Then
+        assertFalse(closed[0]);
+    }
+
+    private GitHubRepoDTO parse(String body) throws IOException {
+        return parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,164 @@
+package com.hero.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code GitHubTokenPool} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/9 14:20
+ * @Version 1.0
+ *
+ */
+class GitHubTokenPoolTest {
+
+    private static final Instant NOW = Instant.parse("2025-12-09T10:00:00Z");
+
+    @Test
+    @DisplayName("The token with the most remaining budget is picked")
+    void givenDifferentBudgets_whenAcquire_thenPickRichestToken() {
+        GitHubTokenPool pool = new GitHubTokenPool(Arrays.asList("token-a", "token-b"), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        pool.update("token-a", rateLimitHeaders(100, NOW.plusSeconds(600)));
+        pool.update("token-b", rateLimitHeaders(4000, NOW.plusSeconds(600)));
+
+        assertEquals("token-b", pool.acquire());
+    }
+
+    @Test
+    @DisplayName("An exhausted token is parked until its reset time, then served again with a full budget")
+    void givenExhaustedToken_whenAcquire_thenSkipUntilReset() {
+        // Given
+        MutableClock clock = new MutableClock(NOW);
+        GitHubTokenPool pool = new GitHubTokenPool(Arrays.asList("token-a", "token-b"), clock);
+        pool.update("token-a", rateLimitHeaders(1, NOW.plusSeconds(600)));
+
+        // When: token-b is rejected by the rate limit
+        assertTrue(pool.onRejected("token-b", rateLimitHeaders(0, NOW.plusSeconds(600))));
+
+        // Then
+        assertEquals("token-a", pool.acquire());
+        assertTrue(pool.budgets().stream()
+                .filter(b -> b.getId().equals("...en-b") && b.getResource().equals(GitHubTokenPool.CORE))
+                .allMatch(GitHubTokenPool.TokenBudget::isParked));
+
+        // When: the reset time has passed
+        clock.advance(Duration.ofSeconds(601));
+        pool.update("token-a", rateLimitHeaders(1, NOW.plusSeconds(3600)));
+
+        // Then
+        assertEquals("token-b", pool.acquire());
+    }
+
+    @Test
+    @DisplayName("Once every token is parked, requests fail fast until the earliest reset")
+    void givenAllTokensExhausted_whenAcquire_thenRateLimited() {
+        // Given
+        GitHubTokenPool pool = new GitHubTokenPool(Arrays.asList("token-a", "token-b"), Clock.fixed(NOW, ZoneOffset.UTC));
+        pool.update("token-a", rateLimitHeaders(0, NOW.plusSeconds(600)));
+        pool.update("token-b", rateLimitHeaders(0, NOW.plusSeconds(300)));
+
+        // When
+        GitHubRateLimitedException e = assertThrows(GitHubRateLimitedException.class, pool::acquire);
+
+        // Then
+        assertEquals(GitHubTokenPool.CORE, e.getResource());
+        assertEquals(NOW.plusSeconds(300).getEpochSecond(), e.getResetEpochSecond());
+    }
+
+    @Test
+    @DisplayName("GraphQL and REST budgets are tracked separately")
+    void givenExhaustedGraphQlBudget_whenAcquire_thenRestUnaffected() {
+        // Given
+        GitHubTokenPool pool = new GitHubTokenPool(Collections.singletonList("token-a"), Clock.fixed(NOW, ZoneOffset.UTC));
+        HttpHeaders graphQl = rateLimitHeaders(0, NOW.plusSeconds(600));
+        graphQl.set("X-RateLimit-Resource", "graphql");
+
+        // When: a REST call reports a GraphQL-keyed budget, and a GraphQL call reports an unkeyed one
+        pool.update("token-a", GitHubTokenPool.CORE, graphQl);
+        pool.update("token-a", GitHubTokenPool.GRAPHQL, rateLimitHeaders(0, NOW.plusSeconds(600)));
+
+        // Then
+        assertEquals("token-a", pool.acquire(GitHubTokenPool.CORE));
+        assertThrows(GitHubRateLimitedException.class, () -> pool.acquire(GitHubTokenPool.GRAPHQL));
+    }
+
+    @Test
+    @DisplayName("Malformed rate-limit headers are ignored and a date Retry-After is honoured")
+    void givenMalformedHeaders_whenUpdate_thenIgnored() {
+        // Given
+        GitHubTokenPool pool = new GitHubTokenPool(Collections.singletonList("token-a"), Clock.fixed(NOW, ZoneOffset.UTC));
+        HttpHeaders malformed = new HttpHeaders();
+        malformed.set("X-RateLimit-Limit", "5000.0");
+        malformed.set("X-RateLimit-Remaining", "");
+        malformed.set("X-RateLimit-Reset", "soon");
+        HttpHeaders secondary = new HttpHeaders();
+        secondary.set(HttpHeaders.RETRY_AFTER, "Tue, 09 Dec 2025 10:02:00 GMT");
+
+        // When
+        pool.update("token-a", malformed);
+        assertFalse(pool.onRejected("token-a", malformed));
+        assertEquals("token-a", pool.acquire());
+        assertTrue(pool.onRejected("token-a", secondary));
+
+        // Then
+        GitHubRateLimitedException e = assertThrows(GitHubRateLimitedException.class, pool::acquire);
+        assertEquals(NOW.plusSeconds(120).getEpochSecond(), e.getResetEpochSecond());
+    }
+
+    @Test
+    @DisplayName("Without tokens, requests are sent anonymously")
+    void givenNoTokens_whenAcquire_thenNull() {
+        GitHubTokenPool pool = new GitHubTokenPool(Collections.emptyList(), Clock.systemUTC());
+
+        assertNull(pool.acquire());
+    }
+
+    private static HttpHeaders rateLimitHeaders(int remaining, Instant reset) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Limit", "5000");
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Reset", String.valueOf(reset.getEpochSecond()));
+        return headers;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
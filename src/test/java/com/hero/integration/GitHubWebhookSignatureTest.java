@@ -0,0 +1,55 @@
+package com.hero.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code GitHubWebhookSignature} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/22 11:20
+ * @Version 1.0
+ *
+ */
+class GitHubWebhookSignatureTest {
+
+    private static final String SECRET = "It's a Secret to Everybody";
+
+    private static final byte[] BODY = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("The signature matches GitHub's documented example")
+    void givenGitHubExample_whenSign_thenSameSignature() {
+        // Given
+        String expected = "sha256=757107ea0eb2509fc211221cce984b8a37570b6d7586c22c46f4379c8b043e17";
+
+        // When / Then
+        assertEquals(expected, GitHubWebhookSignature.sign(SECRET, BODY));
+        assertTrue(GitHubWebhookSignature.matches(SECRET, BODY, expected));
+    }
+
+    @Test
+    @DisplayName("A wrong, malformed or missing signature, or a blank secret, does not match")
+    void givenBadSignature_whenMatches_thenFalse() {
+        String signature = GitHubWebhookSignature.sign(SECRET, BODY);
+
+        assertFalse(GitHubWebhookSignature.matches(SECRET, "Hello, World?".getBytes(StandardCharsets.UTF_8), signature));
+        assertFalse(GitHubWebhookSignature.matches("another secret", BODY, signature));
+        assertFalse(GitHubWebhookSignature.matches(SECRET, BODY, "sha256=not-hex"));
+        assertFalse(GitHubWebhookSignature.matches(SECRET, BODY, signature.replace("sha256=", "sha1=")));
+        assertFalse(GitHubWebhookSignature.matches(SECRET, BODY, null));
+        assertFalse(GitHubWebhookSignature.matches("", BODY, signature));
+        assertFalse(GitHubWebhookSignature.matches(null, BODY, signature));
+    }
+
+    @Test
+    @DisplayName("Signing with a blank secret is rejected")
+    void givenBlankSecret_whenSign_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> GitHubWebhookSignature.sign("", BODY));
+        assertThrows(IllegalArgumentException.class, () -> GitHubWebhookSignature.sign(" ", BODY));
+    }
+}
@@ -0,0 +1,193 @@
+package com.hero.load;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.service.RepositoryWriteBehindBuffer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Open-model load harness for {@code GET /repositories/{owner}/{repoName}}.
+ * The application runs against a simulated GitHub (log-normal latency, 404/403/5xx/reset injection) and an
+ * embedded H2 database. Requests are issued at a fixed rate over Zipf-distributed keys, and latency is measured
+ * from each request's scheduled start, so queueing in the client is not hidden (no coordinated omission).
+ * Every knob is a {@code -Dload.*} system property; run with {@code mvn -Pload-test test}.
+ *
+ * @Author Andrea
+ * @Date 2025/12/13 10:40
+ * @Version 1.0
+ *
+ */
+@Tag("load")
+@ActiveProfiles("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RepositoryLoadTest {
+
+    private static final int RPS = Integer.getInteger("load.rps", 200);
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final int KEYS = Integer.getInteger("load.keys", 10_000);
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("load.zipf-exponent", "1.1"));
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 256);
+    private static final long SEED = Long.getLong("load.seed", 42L);
+
+    private static final double LATENCY_MEDIAN_MS = Double.parseDouble(System.getProperty("load.github.latency-median-ms", "80"));
+    private static final double LATENCY_SIGMA = Double.parseDouble(System.getProperty("load.github.latency-sigma", "0.5"));
+    private static final double NOT_FOUND_RATE = Double.parseDouble(System.getProperty("load.github.not-found-rate", "0.02"));
+    private static final double FORBIDDEN_RATE = Double.parseDouble(System.getProperty("load.github.forbidden-rate", "0.01"));
+    private static final double SERVER_ERROR_RATE = Double.parseDouble(System.getProperty("load.github.server-error-rate", "0.01"));
+    private static final double RESET_RATE = Double.parseDouble(System.getProperty("load.github.reset-rate", "0.0"));
+
+    private static SimulatedGitHubTransformer gitHub;
+
+    private static WireMockServer wireMockServer;
+
+    @BeforeAll
+    static void startWireMock() {
+        gitHub = new SimulatedGitHubTransformer(FORBIDDEN_RATE, SERVER_ERROR_RATE, RESET_RATE);
+        wireMockServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()
+                .containerThreads(CONCURRENCY + 16)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(64)
+                .disableRequestJournal()
+                .extensions(gitHub));
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlPathMatching("/repos/[^/]+/[^/]+"))
+                .willReturn(aResponse()
+                        .withLogNormalRandomDelay(LATENCY_MEDIAN_MS, LATENCY_SIGMA)
+                        .withTransformers(SimulatedGitHubTransformer.NAME)));
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        wireMockServer.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", () -> wireMockServer.baseUrl());
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RepositoryInfoDao repoInfoRepo;
+
+    @Autowired
+    private RepositoryWriteBehindBuffer writeBehind;
+
+    @Test
+    @DisplayName("Sustain the target request rate and report latency, upstream calls and DB writes")
+    void givenZipfTraffic_whenDrivenAtTargetRate_thenReport() throws Exception {
+        // Given
+        ZipfDistribution keys = new ZipfDistribution(KEYS, ZIPF_EXPONENT, SEED);
+        long total = RPS * DURATION.getSeconds();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RPS;
+        Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(2), 3);
+        // [2xx, 4xx, 5xx, I/O failure]
+        AtomicLongArray outcomes = new AtomicLongArray(4);
+        AtomicLong completed = new AtomicLong();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        long upstreamBefore = gitHub.callCount();
+
+        // When
+        long start = System.nanoTime();
+        try (CloseableHttpClient httpClient = newClient()) {
+            for (long i = 0; i < total; i++) {
+                long intended = start + i * intervalNanos;
+                for (long wait; (wait = intended - System.nanoTime()) > 0; ) {
+                    LockSupport.parkNanos(wait);
+                }
+                HttpGet get = new HttpGet("http://localhost:" + port + "/repositories/load/" + repoName(keys.next()));
+                clients.execute(() -> {
+                    int outcome;
+                    try (CloseableHttpResponse response = httpClient.execute(get)) {
+                        EntityUtils.consume(response.getEntity());
+                        outcome = Math.min(2, response.getStatusLine().getStatusCode() / 100 - 2);
+                    } catch (IOException e) {
+                        outcome = 3;
+                    }
+                    latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                    outcomes.incrementAndGet(outcome);
+                    completed.incrementAndGet();
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(2, TimeUnit.MINUTES);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        // Then
+        report(total, elapsedSeconds, latencyMicros, outcomes, gitHub.callCount() - upstreamBefore);
+        assertEquals(total, completed.get(), "every scheduled request completed");
+        assertEquals(0, outcomes.get(3), "no request failed at the transport level");
+    }
+
+    /**
+     * Maps a popularity rank to a repository name; a fixed, rank-independent share of names does not exist upstream.
+     */
+    private static String repoName(int rank) {
+        boolean missing = Math.floorMod(rank * 0x9E3779B1, 10_000) < NOT_FOUND_RATE * 10_000;
+        return (missing ? SimulatedGitHubTransformer.MISSING_PREFIX : "repo-") + rank;
+    }
+
+    private static CloseableHttpClient newClient() {
+        return HttpClients.custom()
+                .setMaxConnTotal(CONCURRENCY)
+                .setMaxConnPerRoute(CONCURRENCY)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(5_000)
+                        .setSocketTimeout(60_000)
+                        .build())
+                .build();
+    }
+
+    private void report(long total, double elapsedSeconds, Histogram latencyMicros, AtomicLongArray outcomes,
+                        long upstreamCalls) {
+        StringBuilder report = new StringBuilder("\n==== load report ====\n");
+        report.append(String.format("target          %d req/s for %s over %d keys (zipf %.2f), concurrency %d%n",
+                RPS, DURATION, KEYS, ZIPF_EXPONENT, CONCURRENCY));
+        report.append(String.format("github          median %.0f ms, sigma %.2f, 404 %.1f%%, 403 %.1f%%, 5xx %.1f%%, reset %.1f%%%n",
+                LATENCY_MEDIAN_MS, LATENCY_SIGMA, NOT_FOUND_RATE * 100, FORBIDDEN_RATE * 100,
+                SERVER_ERROR_RATE * 100, RESET_RATE * 100));
+        report.append(String.format("throughput      %.1f req/s (%d requests in %.1f s)%n",
+                total / elapsedSeconds, total, elapsedSeconds));
+        report.append(String.format("responses       2xx %d, 4xx %d, 5xx %d, failed %d%n",
+                outcomes.get(0), outcomes.get(1), outcomes.get(2), outcomes.get(3)));
+        report.append(String.format("latency (ms)    p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                latencyMicros.getValueAtPercentile(50) / 1000d, latencyMicros.getValueAtPercentile(90) / 1000d,
+                latencyMicros.getValueAtPercentile(99) / 1000d, latencyMicros.getValueAtPercentile(99.9) / 1000d,
+                latencyMicros.getMaxValue() / 1000d));
+        report.append(String.format("upstream calls  %d (%.3f per request)%n", upstreamCalls, upstreamCalls / (double) total));
+        report.append(String.format("db writes       %d batched rows, %d synchronous, %d rows stored%n",
+                writeBehind.flushedCount(), writeBehind.synchronousWriteCount(), repoInfoRepo.count()));
+        System.out.println(report);
+    }
+}
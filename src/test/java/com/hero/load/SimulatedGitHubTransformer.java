@@ -0,0 +1,104 @@
+package com.hero.load;
+
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder.like;
+
+/**
+ * WireMock extension standing in for {@code GET /repos/{owner}/{repo}}.
+ * Repositories named {@code missing-*} answer 404; every other call fails with a 403 rate-limit answer,
+ * a 503, or a reset connection at the configured rates and otherwise returns a body built from the path.
+ * The latency distribution of the stub it is attached to is kept.
+ *
+ * @Author Andrea
+ * @Date 2025/12/13 10:20
+ * @Version 1.0
+ *
+ */
+class SimulatedGitHubTransformer extends ResponseDefinitionTransformer {
+
+    static final String NAME = "simulated-github";
+
+    static final String MISSING_PREFIX = "missing-";
+
+    private final double forbiddenRate;
+
+    private final double serverErrorRate;
+
+    private final double resetRate;
+
+    private final AtomicLong calls = new AtomicLong();
+
+    SimulatedGitHubTransformer(double forbiddenRate, double serverErrorRate, double resetRate) {
+        this.forbiddenRate = forbiddenRate;
+        this.serverErrorRate = serverErrorRate;
+        this.resetRate = resetRate;
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                        FileSource files, Parameters parameters) {
+        calls.incrementAndGet();
+        String path = request.getUrl();
+        int query = path.indexOf('?');
+        String[] segments = (query < 0 ? path : path.substring(0, query)).split("/");
+        // "", "repos", owner, repo
+        String owner = segments[2];
+        String repo = segments[3];
+        if (repo.startsWith(MISSING_PREFIX)) {
+            return like(responseDefinition).withStatus(404)
+                    .withBody("{\"message\":\"Not Found\"}").build();
+        }
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < forbiddenRate) {
+            return like(responseDefinition).withStatus(403)
+                    .withHeader("X-RateLimit-Remaining", "0")
+                    .withBody("{\"message\":\"API rate limit exceeded\"}").build();
+        }
+        roll -= forbiddenRate;
+        if (roll < serverErrorRate) {
+            return like(responseDefinition).withStatus(503).withBody("").build();
+        }
+        roll -= serverErrorRate;
+        if (roll < resetRate) {
+            return like(responseDefinition).withFault(Fault.CONNECTION_RESET_BY_PEER).build();
+        }
+        int stars = Math.abs(repo.hashCode() % 100_000);
+        return like(responseDefinition).withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withHeader("ETag", "\"" + Integer.toHexString(repo.hashCode()) + "\"")
+                .withBody("{"
+                        + "\"full_name\":\"" + owner + "/" + repo + "\","
+                        + "\"description\":\"Simulated repository " + repo + "\","
+                        + "\"clone_url\":\"https://github.com/" + owner + "/" + repo + ".git\","
+                        + "\"stargazers_count\":" + stars + ","
+                        + "\"created_at\":\"2020-01-01T00:00:00Z\""
+                        + "}")
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    /**
+     * Number of upstream calls received, including failed ones.
+     */
+    long callCount() {
+        return calls.get();
+    }
+}
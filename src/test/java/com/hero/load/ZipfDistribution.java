@@ -0,0 +1,40 @@
+package com.hero.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipfian sampler over ranks {@code 0..n-1}: rank {@code k} is drawn with probability proportional to
+ * {@code 1 / (k + 1)^exponent}, so a few keys take most of the traffic, as with real repository popularity.
+ * Seeded, so that two runs request the same key sequence.
+ *
+ * @Author Andrea
+ * @Date 2025/12/13 10:10
+ * @Version 1.0
+ *
+ */
+class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    private final SplittableRandom random;
+
+    ZipfDistribution(int n, double exponent, long seed) {
+        this.cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1d / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        this.random = new SplittableRandom(seed);
+    }
+
+    int next() {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.hero.service;
+
+import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.dao.entity.RepositoryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code CompactRepositoryStore} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/20 11:30
+ * @Version 1.0
+ *
+ */
+class CompactRepositoryStoreTest {
+
+    @Test
+    @DisplayName("A stored row decodes to the same field values")
+    void givenStoredRow_whenGet_thenSameFields() {
+        // Given
+        CompactRepositoryStore store = newStore(DataSize.ofKilobytes(64), DataSize.ofMegabytes(1));
+        RepositoryInfo info = repo(1007L, "octocat", "Hello-World", 80);
+
+        // When
+        store.put(info);
+        RepositoryInfo decoded = store.get("octocat", "Hello-World");
+
+        // Then
+        assertEquals(info.getId(), decoded.getId());
+        assertEquals(info.getFullName(), decoded.getFullName());
+        assertEquals(info.getDescription(), decoded.getDescription());
+        assertEquals(info.getCloneUrl(), decoded.getCloneUrl());
+        assertEquals(info.getStars(), decoded.getStars());
+        assertEquals(info.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(info.getUpdateTime(), decoded.getUpdateTime());
+        assertEquals(info.getContentHash(), decoded.getContentHash());
+        assertEquals(info.getEtag(), decoded.getEtag());
+        assertEquals(info.getLastModified(), decoded.getLastModified());
+        assertNull(store.get("octocat", "Spoon-Knife"));
+        assertNull(store.get("nobody", "Hello-World"));
+    }
+
+    @Test
+    @DisplayName("Replaced rows are served with the new content, across index growth and compaction")
+    void givenManyReplacedRows_whenGet_thenLatestContent() {
+        // Given: small segments, so replacements fill them and trigger compaction
+        CompactRepositoryStore store = newStore(DataSize.ofKilobytes(16), DataSize.ofMegabytes(8));
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 5_000; i++) {
+                store.put(repo((long) i + 1, "owner" + (i % 50), "repo-" + i, i + round));
+            }
+        }
+
+        // Then
+        assertEquals(5_000, store.size());
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(i + 2, store.get("owner" + (i % 50), "repo-" + i).getStars());
+        }
+        assertTrue(store.bytesPerEntry() > 0);
+    }
+
+    @Test
+    @DisplayName("A full store rejects new rows and drops a row whose replacement does not fit")
+    void givenFullStore_whenPut_thenRejectAndNeverServeOldContent() {
+        // Given
+        CompactRepositoryStore store = newStore(DataSize.ofKilobytes(4), DataSize.ofKilobytes(4));
+        int stored = 0;
+        while (store.put(repo((long) stored + 1, "octocat", "repo-" + stored, stored))) {
+            stored++;
+        }
+        RepositoryInfo replacement = repo(1L, "octocat", "repo-0", 1);
+        replacement.setDescription(new String(new char[8_000]).replace('\0', 'x'));
+
+        // When
+        boolean accepted = store.put(replacement);
+
+        // Then
+        assertTrue(stored > 0);
+        assertFalse(accepted);
+        assertNull(store.get("octocat", "repo-0"));
+        for (int i = 1; i < stored; i++) {
+            assertNotNull(store.get("octocat", "repo-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("A row without an id, not written yet, is not served")
+    void givenRowWithoutId_whenGet_thenNull() {
+        CompactRepositoryStore store = newStore(DataSize.ofKilobytes(64), DataSize.ofMegabytes(1));
+
+        store.put(repo(null, "octocat", "Hello-World", 80));
+
+        assertNull(store.get("octocat", "Hello-World"));
+    }
+
+    @Test
+    @DisplayName("A row read through does not replace a newer one stored concurrently")
+    void givenNewerRowStored_whenPutIfAbsent_thenNewerRowKept() {
+        // Given
+        CompactRepositoryStore store = newStore(DataSize.ofKilobytes(64), DataSize.ofMegabytes(1));
+        store.putWritten(repo(1007L, "octocat", "Hello-World", 81));
+
+        // When
+        boolean stored = store.putIfAbsent(repo(1007L, "octocat", "Hello-World", 80));
+
+        // Then
+        assertFalse(stored);
+        assertEquals(81, store.get("octocat", "Hello-World").getStars());
+        assertTrue(store.get("octocat", "Hello-World").getUpdateTime().isAfter(LocalDateTime.of(2025, 12, 1, 10, 0)));
+    }
+
+    private static CompactRepositoryStore newStore(DataSize segmentSize, DataSize maxSize) {
+        return new CompactRepositoryStore(null, true, segmentSize, maxSize, 100);
+    }
+
+    private static RepositoryInfo repo(Long id, String owner, String repoName, int stars) {
+        GitHubRepoDTO dto = new GitHubRepoDTO();
+        dto.setFullName(owner + "/" + repoName);
+        dto.setDescription("This is your first repo!");
+        dto.setCloneUrl("https://github.com/" + owner + "/" + repoName + ".git");
+        dto.setStargazersCount(stars);
+        dto.setCreatedAt(Instant.parse("2025-01-26T19:01:12Z"));
+        RepositoryInfo info = RepositoryInfo.of(owner, repoName, dto);
+        info.setId(id);
+        info.setEtag("W/\"7dc470913f1fe9bb6c7355b50a0737bc\"");
+        info.setLastModified("Sun, 26 Jan 2025 19:01:12 GMT");
+        info.setUpdateTime(LocalDateTime.of(2025, 12, 1, 10, 0, 0, 123_000_000));
+        return info;
+    }
+}
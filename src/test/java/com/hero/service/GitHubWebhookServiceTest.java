@@ -0,0 +1,173 @@
+package com.hero.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hero.biz.RepoCoordinate;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.StarHistoryDao;
+import com.hero.dao.entity.RepositoryInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@code GitHubWebhookService} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/22 11:40
+ * @Version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class GitHubWebhookServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private RepositoryInfoDao repoInfoRepo;
+
+    @Mock
+    private StarHistoryDao starHistoryDao;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RepoDetailsCache repoCache;
+
+    private GitHubWebhookService webhookService;
+
+    @BeforeEach
+    void setUp() {
+        repoCache = new RepoDetailsCache(Duration.ofMinutes(10), Duration.ofMinutes(5), 100);
+        webhookService = new GitHubWebhookService(repoInfoRepo,
+                RepositoryWriteBehindBuffer.synchronous(repoInfoRepo, starHistoryDao), repoCache,
+                new CompactRepositoryStore(repoInfoRepo, false, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), 100),
+                eventPublisher, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("A star event updates a copy of the stored repository, without a GitHub call")
+    void givenStoredRepository_whenStarEvent_thenUpdateCopy() throws Exception {
+        // Given
+        RepositoryInfo stored = stored(80);
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World")).thenReturn(Optional.of(stored));
+
+        // When
+        GitHubWebhookService.Outcome outcome = webhookService.handle("star", payload("created", 81));
+
+        // Then
+        assertEquals(GitHubWebhookService.Outcome.APPLIED, outcome);
+        verify(repoInfoRepo).save(argThat((RepositoryInfo info) -> info.getId().equals(7L) && info.getStars() == 81));
+        assertEquals(81, repoCache.get("octocat", "Hello-World").getStars());
+        assertNull(repoCache.get("octocat", "Hello-World").getEtag());
+        assertEquals(80, stored.getStars());
+        verify(eventPublisher).publishEvent(any(RepositoryUpdatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("A payload matching the stored repository writes nothing")
+    void givenUnchangedRepository_whenWatchEvent_thenNoWrite() throws Exception {
+        // Given
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World")).thenReturn(Optional.of(stored(80)));
+
+        // When
+        GitHubWebhookService.Outcome outcome = webhookService.handle("watch", payload("started", 80));
+
+        // Then
+        assertEquals(GitHubWebhookService.Outcome.UNCHANGED, outcome);
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Repositories that are not stored and events without a repository are ignored")
+    void givenUntrackedOrPing_whenHandle_thenNothingStored() throws Exception {
+        // Given
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertEquals(GitHubWebhookService.Outcome.UNTRACKED, webhookService.handle("star", payload("created", 81)));
+        assertEquals(GitHubWebhookService.Outcome.IGNORED,
+                webhookService.handle("ping", objectMapper.readTree("{\"zen\":\"Keep it logically awesome.\"}")));
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+    }
+
+    @Test
+    @DisplayName("A renamed repository is removed under its old name: row deleted, copies dropped")
+    void givenRenamedRepository_whenRepositoryEvent_thenRemoveOldName() throws Exception {
+        // Given
+        repoCache.put(RepositoryInfo.builder().owner("octocat").repoName("Old-World").stars(80).build());
+        JsonNode payload = objectMapper.readTree("{\"action\":\"renamed\","
+                + "\"changes\":{\"repository\":{\"name\":{\"from\":\"Old-World\"}}},"
+                + "\"repository\":{\"name\":\"Hello-World\",\"full_name\":\"octocat/Hello-World\","
+                + "\"owner\":{\"login\":\"octocat\"},\"stargazers_count\":80}}");
+
+        // When
+        GitHubWebhookService.Outcome outcome = webhookService.handle("repository", payload);
+
+        // Then
+        assertEquals(GitHubWebhookService.Outcome.EVICTED, outcome);
+        assertNull(repoCache.get("octocat", "Old-World"));
+        verify(repoInfoRepo).deleteByOwnerAndRepoName("octocat", "Old-World");
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof RepositoryRemovedEvent
+                && "Old-World".equals(((RepositoryRemovedEvent) event).getRepoName())));
+    }
+
+    @Test
+    @DisplayName("A delivery targets the repository under its name before the event")
+    void givenTransferredRepository_whenTargetOf_thenOldOwner() throws Exception {
+        // Given
+        JsonNode payload = objectMapper.readTree("{\"action\":\"transferred\","
+                + "\"changes\":{\"owner\":{\"from\":{\"user\":{\"login\":\"monalisa\"}}}},"
+                + "\"repository\":{\"name\":\"Hello-World\",\"full_name\":\"octocat/Hello-World\","
+                + "\"owner\":{\"login\":\"octocat\"},\"stargazers_count\":80}}");
+
+        // When
+        RepoCoordinate target = webhookService.targetOf("repository", payload);
+
+        // Then
+        assertEquals("monalisa", target.getOwner());
+        assertEquals("Hello-World", target.getRepoName());
+        assertEquals("octocat", webhookService.targetOf("star", payload("created", 81)).getOwner());
+        assertNull(webhookService.targetOf("ping", objectMapper.readTree("{\"zen\":\"Keep it logically awesome.\"}")));
+    }
+
+    private JsonNode payload(String action, int stars) throws Exception {
+        return objectMapper.readTree("{\"action\":\"" + action + "\","
+                + "\"repository\":{\"name\":\"Hello-World\",\"full_name\":\"octocat/Hello-World\","
+                + "\"owner\":{\"login\":\"octocat\"},"
+                + "\"description\":\"This is your first repo!\","
+                + "\"clone_url\":\"https://github.com/octocat/Hello-World.git\","
+                + "\"stargazers_count\":" + stars + ","
+                + "\"created_at\":\"2025-01-26T19:01:12Z\"}}");
+    }
+
+    private static RepositoryInfo stored(int stars) {
+        RepositoryInfo info = RepositoryInfo.builder()
+                .id(7L)
+                .owner("octocat")
+                .repoName("Hello-World")
+                .fullName("octocat/Hello-World")
+                .description("This is your first repo!")
+                .cloneUrl("https://github.com/octocat/Hello-World.git")
+                .stars(stars)
+                .createdAt(Instant.parse("2025-01-26T19:01:12Z"))
+                .etag("\"abc\"")
+                .build();
+        return info.withContentHash();
+    }
+}
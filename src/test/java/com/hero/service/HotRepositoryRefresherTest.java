@@ -0,0 +1,121 @@
+package com.hero.service;
+
+import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.dao.entity.RepositoryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@code HotRepositoryRefresher} class, refreshing on the calling thread.
+ *
+ * @Author Andrea
+ * @Date 2025/12/11 14:30
+ * @Version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class HotRepositoryRefresherTest {
+
+    @Mock
+    private RepoDetailsService repoDetailsService;
+
+    private RepoDetailsCache repoCache;
+
+    @BeforeEach
+    void setUp() {
+        // every entry is past its soft TTL as soon as it is cached
+        repoCache = new RepoDetailsCache(Duration.ofMinutes(10), Duration.ZERO, 100);
+    }
+
+    @Test
+    @DisplayName("Only the most requested cached repositories are refreshed, misses are not counted")
+    void givenAccessCounts_whenRefreshHottest_thenRefreshTopN() {
+        // Given
+        HotRepositoryRefresher refresher = new HotRepositoryRefresher(repoDetailsService, repoCache, Runnable::run,
+                Duration.ofSeconds(30), 3600, 2);
+        for (String repoName : Arrays.asList("hot", "warm", "cold")) {
+            repoCache.put(repo(repoName));
+        }
+        access("hot", 3);
+        access("warm", 2);
+        access("cold", 1);
+        // lookups of a repository that is not cached never make it hot
+        access("unknown", 10);
+        assertEquals(Arrays.asList("octocat/hot", "octocat/warm", "octocat/cold"), repoCache.hottest(10));
+
+        // When
+        refresher.refreshHottest();
+
+        // Then
+        verify(repoDetailsService).refreshRepositoryDetails("octocat", "hot");
+        verify(repoDetailsService).refreshRepositoryDetails("octocat", "warm");
+        verify(repoDetailsService, never()).refreshRepositoryDetails("octocat", "cold");
+        verify(repoDetailsService, never()).refreshRepositoryDetails("octocat", "unknown");
+        assertEquals(2, refresher.refreshedCount());
+    }
+
+    @Test
+    @DisplayName("Refreshes over the hourly budget are skipped")
+    void givenBudgetSpent_whenRefreshAsync_thenSkipped() {
+        // Given: one refresh per hour, the first one is granted at once
+        HotRepositoryRefresher refresher = new HotRepositoryRefresher(repoDetailsService, repoCache, Runnable::run,
+                Duration.ofSeconds(30), 1, 10);
+
+        // When
+        boolean first = refresher.refreshAsync("octocat", "Hello-World");
+        boolean second = refresher.refreshAsync("octocat", "Spoon-Knife");
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1, refresher.refreshedCount());
+        assertEquals(1, refresher.skippedCount());
+        verify(repoDetailsService, never()).refreshRepositoryDetails("octocat", "Spoon-Knife");
+    }
+
+    @Test
+    @DisplayName("Each tick renews up to its share of the hourly budget, not one repository per tick")
+    void givenHourlyBudget_whenRefreshHottest_thenRefreshTickAllowance() {
+        // Given: 720 requests an hour over 30s ticks is 6 a tick, the allowance starts with two ticks' worth
+        HotRepositoryRefresher refresher = new HotRepositoryRefresher(repoDetailsService, repoCache, Runnable::run,
+                Duration.ofSeconds(30), 720, 100);
+        for (int i = 0; i < 40; i++) {
+            repoCache.put(repo("repo-" + i));
+            // enough hits to stay ranked after the decay at the end of the first tick
+            access("repo-" + i, 4);
+        }
+
+        // When
+        refresher.refreshHottest();
+        long firstTick = refresher.refreshedCount();
+        refresher.refreshHottest();
+
+        // Then: the first tick spends the full allowance, the next one what a single tick adds
+        assertEquals(12, firstTick);
+        assertEquals(18, refresher.refreshedCount());
+        assertEquals(40 - 12 + 40 - 6, refresher.skippedCount());
+    }
+
+    private void access(String repoName, int times) {
+        for (int i = 0; i < times; i++) {
+            repoCache.getEntry("octocat", repoName);
+        }
+    }
+
+    private static RepositoryInfo repo(String repoName) {
+        GitHubRepoDTO dto = new GitHubRepoDTO();
+        dto.setFullName("octocat/" + repoName);
+        dto.setStargazersCount(1);
+        return RepositoryInfo.of("octocat", repoName, dto);
+    }
+}
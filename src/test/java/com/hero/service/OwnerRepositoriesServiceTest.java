@@ -0,0 +1,145 @@
+package com.hero.service;
+
+import com.hero.biz.OwnerRepositoriesResponse;
+import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.StarHistoryDao;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.integration.GitHubClientService;
+import com.hero.util.GitHubUnavailableException;
+import com.hero.util.OwnerNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@code OwnerRepositoriesService} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/18 11:30
+ * @Version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class OwnerRepositoriesServiceTest {
+
+    @Mock
+    private GitHubClientService gitHubClient;
+
+    @Mock
+    private RepositoryInfoDao repoInfoRepo;
+
+    @Mock
+    private StarHistoryDao starHistoryDao;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private OwnerRepositoriesService ownerRepositoriesService;
+
+    @BeforeEach
+    void setUp() {
+        ownerRepositoriesService = new OwnerRepositoriesService(gitHubClient, repoInfoRepo,
+                RepositoryWriteBehindBuffer.synchronous(repoInfoRepo, starHistoryDao),
+                new RepoDetailsCache(Duration.ofMinutes(10), Duration.ofMinutes(5), 100),
+                eventPublisher, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("The first page bulk-upserts new and changed repositories only and pages by name")
+    void givenOwnerListing_whenFirstPage_thenUpsertChangedAndPageByName() {
+        // Given: "b" is stored unchanged, "c" is stored with fewer stars, "a" is new
+        when(gitHubClient.fetchOwnerRepositories("octocat"))
+                .thenReturn(Arrays.asList(dto("a", 1), dto("b", 2), dto("c", 3)));
+        when(repoInfoRepo.findByOwnerAndRepoNameIn(eq("octocat"), anyCollection()))
+                .thenReturn(Arrays.asList(stored("b", 2, 2L), stored("c", 1, 3L)));
+        when(repoInfoRepo.save(any(RepositoryInfo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repoInfoRepo.findByOwnerAndRepoNameGreaterThanOrderByRepoNameAsc("octocat", "", PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(stored("a", 1, 1L), stored("b", 2, 2L), stored("c", 3, 3L)));
+
+        // When
+        OwnerRepositoriesResponse page = ownerRepositoriesService.listRepositories("octocat", null, 2);
+
+        // Then
+        verify(repoInfoRepo).save(argThat((RepositoryInfo info) -> info.getRepoName().equals("a")));
+        verify(repoInfoRepo).save(argThat((RepositoryInfo info) -> info.getRepoName().equals("c") && info.getStars() == 3));
+        verify(repoInfoRepo, never()).save(argThat((RepositoryInfo info) -> info.getRepoName().equals("b")));
+        verify(eventPublisher, times(2)).publishEvent(any(RepositoryUpdatedEvent.class));
+        assertEquals(2, page.getRepositories().size());
+        assertEquals("octocat/a", page.getRepositories().get(0).getFullName());
+        assertEquals("b", page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Later pages and first pages within the sync TTL are served from the database only")
+    void givenSyncedOwner_whenListAgain_thenNoGitHubCall() {
+        // Given
+        when(gitHubClient.fetchOwnerRepositories("octocat")).thenReturn(Collections.emptyList());
+        when(repoInfoRepo.findByOwnerAndRepoNameGreaterThanOrderByRepoNameAsc(eq("octocat"), anyString(), any()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        ownerRepositoriesService.listRepositories("octocat", null, 10);
+        ownerRepositoriesService.listRepositories("octocat", null, 10);
+        OwnerRepositoriesResponse page = ownerRepositoriesService.listRepositories("octocat", "b", 10);
+
+        // Then
+        verify(gitHubClient, times(1)).fetchOwnerRepositories("octocat");
+        verify(repoInfoRepo).findByOwnerAndRepoNameGreaterThanOrderByRepoNameAsc("octocat", "b", PageRequest.of(0, 11));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("An owner unknown to GitHub is reported as not found")
+    void givenUnknownOwner_whenFirstPage_thenOwnerNotFound() {
+        when(gitHubClient.fetchOwnerRepositories("nobody")).thenReturn(null);
+
+        assertThrows(OwnerNotFoundException.class, () -> ownerRepositoriesService.listRepositories("nobody", null, 10));
+    }
+
+    @Test
+    @DisplayName("When GitHub is unavailable, stored repositories are still served")
+    void givenGitHubUnavailableAndStoredRows_whenFirstPage_thenServeStored() {
+        // Given
+        when(gitHubClient.fetchOwnerRepositories("octocat"))
+                .thenThrow(new GitHubUnavailableException("octocat", "*", new IllegalStateException("circuit open")));
+        when(repoInfoRepo.findByOwnerAndRepoNameGreaterThanOrderByRepoNameAsc(eq("octocat"), eq(""), any()))
+                .thenReturn(Collections.singletonList(stored("a", 1, 1L)));
+
+        // When
+        OwnerRepositoriesResponse page = ownerRepositoriesService.listRepositories("octocat", null, 10);
+
+        // Then
+        assertEquals(1, page.getRepositories().size());
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+    }
+
+    private static GitHubRepoDTO dto(String repoName, int stars) {
+        GitHubRepoDTO dto = new GitHubRepoDTO();
+        dto.setFullName("octocat/" + repoName);
+        dto.setCloneUrl("https://github.com/octocat/" + repoName + ".git");
+        dto.setStargazersCount(stars);
+        dto.setCreatedAt(Instant.parse("2025-01-26T19:01:12Z"));
+        return dto;
+    }
+
+    private static RepositoryInfo stored(String repoName, int stars, Long id) {
+        RepositoryInfo info = RepositoryInfo.of("octocat", repoName, dto(repoName, stars));
+        info.setId(id);
+        return info;
+    }
+}
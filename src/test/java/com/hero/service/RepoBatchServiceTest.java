@@ -0,0 +1,69 @@
+package com.hero.service;
+
+import com.hero.biz.BatchLookupResult;
+import com.hero.biz.RepoCoordinate;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.util.RepoNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * * * Unit tests for the {@code RepoBatchService} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/5 11:00
+ * @Version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class RepoBatchServiceTest {
+
+    @Mock
+    private RepoDetailsService repoDetailsService;
+
+    private RepoBatchService repoBatchService;
+
+    @BeforeEach
+    void setUp() {
+        // run lookups on the calling thread to keep the test deterministic
+        repoBatchService = new RepoBatchService(repoDetailsService, Runnable::run, 2);
+    }
+
+    @Test
+    @DisplayName("Every item is reported, with not-found and invalid items inline")
+    void givenMixedBatch_whenResolveAll_thenReportEachItem() throws InterruptedException {
+        // Given
+        when(repoDetailsService.getRepositoryDetails("octocat", "Hello-World"))
+                .thenReturn(RepositoryInfo.builder().owner("octocat").repoName("Hello-World")
+                        .fullName("octocat/Hello-World").stars(80).build());
+        when(repoDetailsService.getRepositoryDetails("someuser", "unknownrepo"))
+                .thenThrow(new RepoNotFoundException("someuser", "unknownrepo"));
+        List<RepoCoordinate> batch = Arrays.asList(
+                new RepoCoordinate("octocat", "Hello-World"),
+                new RepoCoordinate("someuser", "unknownrepo"),
+                new RepoCoordinate("octocat", null));
+
+        // When
+        List<BatchLookupResult> results = new ArrayList<>();
+        repoBatchService.resolveAll(batch, results::add);
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals(BatchLookupResult.Status.OK, results.get(0).getStatus());
+        assertEquals(80, results.get(0).getRepository().getStars());
+        assertEquals(BatchLookupResult.Status.NOT_FOUND, results.get(1).getStatus());
+        assertEquals(BatchLookupResult.Status.ERROR, results.get(2).getStatus());
+        verify(repoDetailsService, never()).getRepositoryDetails("octocat", null);
+    }
+}
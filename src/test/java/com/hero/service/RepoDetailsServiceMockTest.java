@@ -2,19 +2,33 @@ package com.hero.service;
 
 import com.hero.biz.dto.GitHubRepoDTO;
 import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.StarHistoryDao;
 import com.hero.dao.entity.RepositoryInfo;
 import com.hero.integration.GitHubClientService;
+import com.hero.integration.GitHubFetchResult;
+import com.hero.integration.PeerClient;
+import com.hero.integration.PeerUnavailableException;
+import com.hero.util.GitHubUnavailableException;
 import com.hero.util.RepoNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,28 +48,38 @@ class RepoDetailsServiceMockTest {
     @Mock
     private RepositoryInfoDao repoInfoRepo;
 
-    @InjectMocks
+    @Mock
+    private StarHistoryDao starHistoryDao;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PeerClient peerClient;
+
     private RepoDetailsService repoDetailsService;
 
     private GitHubRepoDTO mockGitHubResponse;
 
     @BeforeEach
     void setUp() {
+        repoDetailsService = newService(false);
+
         // prepare a mock GitHub response
         mockGitHubResponse = new GitHubRepoDTO();
         mockGitHubResponse.setFullName("octocat/Hello-World");
         mockGitHubResponse.setDescription("This is your first repo!");
         mockGitHubResponse.setCloneUrl("https://github.com/octocat/Hello-World.git");
         mockGitHubResponse.setStargazersCount(80);
-        mockGitHubResponse.setCreatedAt("2025-01-26T19:01:12Z");
+        mockGitHubResponse.setCreatedAt(Instant.parse("2025-01-26T19:01:12Z"));
     }
 
     @Test
     @DisplayName("When GitHub returns data, correctly map and save it to the database")
     void givenGitHubReturnsData_whenGetRepoDetails_thenMapAndSave() {
         // Given: GitHub API returns valid data
-        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World"))
-                .thenReturn(mockGitHubResponse);
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
         when(repoInfoRepo.save(any(RepositoryInfo.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -71,16 +95,16 @@ class RepoDetailsServiceMockTest {
         assertEquals(80, result.getStars());
 
         // verify interactions
-        verify(gitHubClient, times(1)).fetchRepoDetails("octocat", "Hello-World");
+        verify(gitHubClient, times(1)).fetchRepoDetails("octocat", "Hello-World", null, null);
         verify(repoInfoRepo, times(1)).save(any(RepositoryInfo.class));
     }
 
     @Test
-    @DisplayName("RepoNotFoundException thrown when GitHub API returns null")
+    @DisplayName("RepoNotFoundException thrown when GitHub API returns 404")
     void givenGitHubReturnsNull_whenGetRepoDetails_thenThrowException() {
-        // Given: GitHub API returns null
-        when(gitHubClient.fetchRepoDetails("someuser", "unknownrepo"))
-                .thenReturn(null);
+        // Given: GitHub API returns 404
+        when(gitHubClient.fetchRepoDetails("someuser", "unknownrepo", null, null))
+                .thenReturn(GitHubFetchResult.notFound());
 
         // When & Then: The calling method should throw an exception
         RepoNotFoundException exception = assertThrows(
@@ -100,8 +124,8 @@ class RepoDetailsServiceMockTest {
     @DisplayName("Verify that the saved entity data is correct")
     void givenGitHubResponse_whenGetRepoDetails_thenSaveCorrectEntity() {
         // Given
-        when(gitHubClient.fetchRepoDetails("apache", "dubbo"))
-                .thenReturn(mockGitHubResponse);
+        when(gitHubClient.fetchRepoDetails("apache", "dubbo", null, null))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
         when(repoInfoRepo.save(any(RepositoryInfo.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -117,4 +141,346 @@ class RepoDetailsServiceMockTest {
                         info.getCreatedAt() != null
         ));
     }
+
+    @Test
+    @DisplayName("Second lookup of the same repository is served from the cache")
+    void givenRepoCached_whenGetRepoDetailsAgain_thenSkipGitHub() {
+        // Given
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
+        when(repoInfoRepo.save(any(RepositoryInfo.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        RepositoryInfo first = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+        RepositoryInfo second = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then: GitHub and the database are only hit once
+        assertSame(first, second);
+        verify(gitHubClient, times(1)).fetchRepoDetails("octocat", "Hello-World", null, null);
+        verify(repoInfoRepo, times(1)).save(any(RepositoryInfo.class));
+    }
+
+    @Test
+    @DisplayName("A lookup reports whether it called GitHub")
+    void givenFetchThenCacheHit_whenLookupRepoDetails_thenReportSource() {
+        // Given
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
+        when(repoInfoRepo.save(any(RepositoryInfo.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        RepoDetailsService.Lookup first = repoDetailsService.lookupRepositoryDetails("octocat", "Hello-World");
+        RepoDetailsService.Lookup second = repoDetailsService.lookupRepositoryDetails("octocat", "Hello-World");
+
+        // Then
+        assertTrue(first.isFromGitHub());
+        assertFalse(second.isFromGitHub());
+        assertSame(first.getInfo(), second.getInfo());
+    }
+
+    @Test
+    @DisplayName("A fresh row in the database is served without calling GitHub")
+    void givenFreshRowStored_whenGetRepoDetails_thenServeFromDatabase() {
+        // Given: the row was written a minute ago
+        RepositoryInfo stored = RepositoryInfo.of("octocat", "Hello-World", mockGitHubResponse);
+        stored.setUpdateTime(LocalDateTime.now().minusMinutes(1));
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World"))
+                .thenReturn(Optional.of(stored));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then
+        assertSame(stored, result);
+        verify(gitHubClient, never()).fetchRepoDetails(anyString(), anyString(), any(), any());
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+    }
+
+    @Test
+    @DisplayName("A stale row whose content did not change is not written again")
+    void givenStaleUnchangedRow_whenGetRepoDetails_thenSkipWrite() {
+        // Given: the row is older than the database TTL but GitHub returns the same content
+        RepositoryInfo stored = RepositoryInfo.of("octocat", "Hello-World", mockGitHubResponse);
+        stored.setId(1L);
+        stored.setUpdateTime(LocalDateTime.now().minusHours(2));
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World"))
+                .thenReturn(Optional.of(stored));
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then: served as a copy that is fresh in memory, nothing is written
+        assertEquals(1L, result.getId());
+        assertTrue(result.getUpdateTime().isAfter(LocalDateTime.now().minusMinutes(1)));
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+    }
+
+    @Test
+    @DisplayName("A stale row whose content changed is updated through a fresh copy, the stored instance is untouched")
+    void givenStaleChangedRow_whenGetRepoDetails_thenUpdateCopy() {
+        // Given: GitHub now reports more stars than the stored row
+        RepositoryInfo stored = RepositoryInfo.of("octocat", "Hello-World", mockGitHubResponse);
+        stored.setId(1L);
+        stored.setUpdateTime(LocalDateTime.now().minusHours(2));
+        mockGitHubResponse.setStargazersCount(81);
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World"))
+                .thenReturn(Optional.of(stored));
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then: the existing row (same id) is saved with the new star count, and the copy served is fresh
+        verify(repoInfoRepo).save(argThat(info -> info.getId() == 1L && info.getStars() == 81));
+        assertNotSame(stored, result);
+        assertEquals(81, result.getStars());
+        assertTrue(result.getUpdateTime().isAfter(LocalDateTime.now().minusMinutes(1)));
+        assertEquals(80, stored.getStars());
+        assertSame(result, repoDetailsService.getRepositoryDetails("octocat", "Hello-World"));
+    }
+
+    @Test
+    @DisplayName("A result without validators, as GraphQL returns, keeps the stored ones")
+    void givenStoredValidators_whenResultHasNone_thenKeepValidators() {
+        // Given: the row was last fetched over REST, GitHub now answers over GraphQL with more stars
+        RepositoryInfo stored = RepositoryInfo.of("octocat", "Hello-World", mockGitHubResponse);
+        stored.setId(1L);
+        stored.setEtag("\"abc123\"");
+        stored.setLastModified("Sun, 26 Jan 2025 19:01:12 GMT");
+        stored.setUpdateTime(LocalDateTime.now().minusHours(2));
+        mockGitHubResponse.setStargazersCount(81);
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World"))
+                .thenReturn(Optional.of(stored));
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", "\"abc123\"", "Sun, 26 Jan 2025 19:01:12 GMT"))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
+
+        // When
+        repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then
+        verify(repoInfoRepo).save(argThat(info -> info.getStars() == 81 && "\"abc123\"".equals(info.getEtag())
+                && "Sun, 26 Jan 2025 19:01:12 GMT".equals(info.getLastModified())));
+    }
+
+    @Test
+    @DisplayName("A 304 from GitHub keeps the stored row fresh in memory, without parsing it or writing the database")
+    void givenStaleRowWithEtag_whenGitHubNotModified_thenServeStoredWithoutWrite() {
+        // Given: the stored row carries validators from an earlier response
+        RepositoryInfo stored = RepositoryInfo.of("octocat", "Hello-World", mockGitHubResponse);
+        stored.setId(7L);
+        stored.setEtag("\"abc123\"");
+        stored.setLastModified("Sun, 26 Jan 2025 19:01:12 GMT");
+        stored.setUpdateTime(LocalDateTime.now().minusHours(2));
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World"))
+                .thenReturn(Optional.of(stored));
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", "\"abc123\"", "Sun, 26 Jan 2025 19:01:12 GMT"))
+                .thenReturn(GitHubFetchResult.notModified("\"abc123\"", "Sun, 26 Jan 2025 19:01:12 GMT"));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+        RepositoryInfo again = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then: a copy of the stored row is served, cached, and fresh again for the database TTL without a write
+        assertEquals(7L, result.getId());
+        assertEquals("\"abc123\"", result.getEtag());
+        assertSame(result, again);
+        assertTrue(result.getUpdateTime().isAfter(LocalDateTime.now().minusMinutes(1)));
+        assertTrue(stored.getUpdateTime().isBefore(LocalDateTime.now().minusHours(1)));
+        verify(gitHubClient, times(1)).fetchRepoDetails(anyString(), anyString(), any(), any());
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+        verify(repoInfoRepo, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("When GitHub is unavailable, the stored row is served flagged stale and not cached")
+    void givenStaleRowAndGitHubUnavailable_whenGetRepoDetails_thenServeStaleCopy() {
+        // Given
+        RepositoryInfo stored = RepositoryInfo.of("octocat", "Hello-World", mockGitHubResponse);
+        stored.setUpdateTime(LocalDateTime.now().minusHours(2));
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World"))
+                .thenReturn(Optional.of(stored));
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenThrow(new GitHubUnavailableException("octocat", "Hello-World", new IllegalStateException("circuit open")));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+        repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then: a stale copy of the stored row, and GitHub is tried again on the next request
+        assertTrue(result.isStale());
+        assertFalse(stored.isStale());
+        assertEquals(stored.getStars(), result.getStars());
+        verify(gitHubClient, times(2)).fetchRepoDetails("octocat", "Hello-World", null, null);
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+    }
+
+    @Test
+    @DisplayName("When GitHub is unavailable and nothing is stored, the lookup fails fast")
+    void givenNothingStoredAndGitHubUnavailable_whenGetRepoDetails_thenThrow() {
+        // Given
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenThrow(new GitHubUnavailableException("octocat", "Hello-World", new IllegalStateException("bulkhead full")));
+
+        // When / Then
+        assertThrows(GitHubUnavailableException.class,
+                () -> repoDetailsService.getRepositoryDetails("octocat", "Hello-World"));
+    }
+
+    @Test
+    @DisplayName("With stale-while-revalidate, a stale row is served at once and refreshed in the background")
+    void givenStaleRowAndSwr_whenGetRepoDetails_thenServeStoredAndRequestRefresh() {
+        // Given
+        repoDetailsService = newService(true);
+        RepositoryInfo stored = RepositoryInfo.of("octocat", "Hello-World", mockGitHubResponse);
+        stored.setUpdateTime(LocalDateTime.now().minusHours(2));
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World"))
+                .thenReturn(Optional.of(stored));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then: no GitHub call on the request path, a refresh is requested instead
+        assertSame(stored, result);
+        verify(gitHubClient, never()).fetchRepoDetails(anyString(), anyString(), any(), any());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof RepoRefreshRequestedEvent
+                && "Hello-World".equals(((RepoRefreshRequestedEvent) event).getRepoName())));
+    }
+
+    @Test
+    @DisplayName("A refresh bypasses cached copies and re-fetches from GitHub")
+    void givenCachedRepo_whenRefresh_thenFetchAgain() {
+        // Given
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
+        repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // When
+        mockGitHubResponse.setStargazersCount(81);
+        RepositoryInfo refreshed = repoDetailsService.refreshRepositoryDetails("octocat", "Hello-World");
+
+        // Then: the new star count is cached
+        assertEquals(81, refreshed.getStars());
+        assertEquals(81, repoDetailsService.getRepositoryDetails("octocat", "Hello-World").getStars());
+        verify(gitHubClient, times(2)).fetchRepoDetails("octocat", "Hello-World", null, null);
+    }
+
+    @Test
+    @DisplayName("The non-blocking lookup maps, stores and caches like the blocking one")
+    void givenGitHubReturnsData_whenGetRepoDetailsAsync_thenMapAndSave() {
+        // Given
+        when(gitHubClient.fetchRepoDetailsAsync("octocat", "Hello-World", null, null))
+                .thenReturn(CompletableFuture.completedFuture(GitHubFetchResult.ok(mockGitHubResponse, null, null)));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetailsAsync("octocat", "Hello-World").join();
+
+        // Then
+        assertEquals("octocat/Hello-World", result.getFullName());
+        assertSame(result, repoDetailsService.getRepositoryDetails("octocat", "Hello-World"));
+        verify(repoInfoRepo, times(1)).save(any(RepositoryInfo.class));
+        verify(gitHubClient, never()).fetchRepoDetails(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("The non-blocking lookup completes with RepoNotFoundException when GitHub returns 404")
+    void givenGitHubReturnsNotFound_whenGetRepoDetailsAsync_thenFailWithNotFound() {
+        // Given
+        when(gitHubClient.fetchRepoDetailsAsync("someuser", "unknownrepo", null, null))
+                .thenReturn(CompletableFuture.completedFuture(GitHubFetchResult.notFound()));
+
+        // When
+        CompletableFuture<RepositoryInfo> result = repoDetailsService.getRepositoryDetailsAsync("someuser", "unknownrepo");
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertTrue(exception.getCause() instanceof RepoNotFoundException);
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+    }
+
+    @Test
+    @DisplayName("A repository owned by another peer is asked from that peer and cached, not fetched or stored")
+    void givenRemoteOwner_whenGetRepoDetails_thenAskPeer() {
+        // Given
+        RepositoryInfo remote = RepositoryInfo.of("octocat", "Hello-World", mockGitHubResponse);
+        when(peerClient.isRemote("octocat", "Hello-World")).thenReturn(true);
+        when(peerClient.fetch("octocat", "Hello-World")).thenReturn(remote);
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then
+        assertSame(remote, result);
+        assertSame(remote, repoDetailsService.getRepositoryDetails("octocat", "Hello-World"));
+        verify(peerClient, times(1)).fetch("octocat", "Hello-World");
+        verify(gitHubClient, never()).fetchRepoDetails(anyString(), anyString(), any(), any());
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+    }
+
+    @Test
+    @DisplayName("When the owning peer is down, the repository is fetched locally")
+    void givenPeerUnavailable_whenGetRepoDetails_thenFetchLocally() {
+        // Given
+        when(peerClient.isRemote("octocat", "Hello-World")).thenReturn(true);
+        when(peerClient.fetch("octocat", "Hello-World"))
+                .thenThrow(new PeerUnavailableException("http://localhost:8082", "Connection refused", null));
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then
+        assertEquals(80, result.getStars());
+        verify(repoInfoRepo, times(1)).save(any(RepositoryInfo.class));
+    }
+
+    @Test
+    @DisplayName("When GitHub is unavailable to the owning peer, the stored row is served stale without a local fetch")
+    void givenPeerAnswersUnavailable_whenGetRepoDetails_thenServeStoredStale() {
+        // Given
+        RepositoryInfo stored = RepositoryInfo.of("octocat", "Hello-World", mockGitHubResponse);
+        stored.setUpdateTime(LocalDateTime.now().minusHours(2));
+        when(repoInfoRepo.findByOwnerAndRepoName("octocat", "Hello-World"))
+                .thenReturn(Optional.of(stored));
+        when(peerClient.isRemote("octocat", "Hello-World")).thenReturn(true);
+        when(peerClient.fetch("octocat", "Hello-World"))
+                .thenThrow(new GitHubUnavailableException("octocat", "Hello-World", new IllegalStateException("503")));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetails("octocat", "Hello-World");
+
+        // Then
+        assertTrue(result.isStale());
+        assertEquals(stored.getStars(), result.getStars());
+        verify(gitHubClient, never()).fetchRepoDetails(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("A lookup forwarded by a peer is resolved locally, never forwarded again")
+    void givenPeerLookup_whenGetRepoDetailsForPeer_thenNeverForward() {
+        // Given
+        when(gitHubClient.fetchRepoDetails("octocat", "Hello-World", null, null))
+                .thenReturn(GitHubFetchResult.ok(mockGitHubResponse, null, null));
+
+        // When
+        RepositoryInfo result = repoDetailsService.getRepositoryDetailsForPeer("octocat", "Hello-World");
+
+        // Then
+        assertEquals("octocat/Hello-World", result.getFullName());
+        verifyNoInteractions(peerClient);
+    }
+
+    private RepoDetailsService newService(boolean staleWhileRevalidate) {
+        return new RepoDetailsService(gitHubClient, repoInfoRepo,
+                new RepoDetailsCache(Duration.ofMinutes(10), Duration.ofMinutes(5), 100),
+                RepositoryWriteBehindBuffer.synchronous(repoInfoRepo, starHistoryDao),
+                new CompactRepositoryStore(repoInfoRepo, false, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), 100),
+                peerClient, eventPublisher, Runnable::run,
+                Duration.ofHours(1), staleWhileRevalidate);
+    }
 }
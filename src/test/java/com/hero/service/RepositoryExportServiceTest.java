@@ -0,0 +1,122 @@
+package com.hero.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code RepositoryExportService} class, against an embedded H2 database.
+ *
+ * @Author Andrea
+ * @Date 2025/12/24 11:00
+ * @Version 1.0
+ *
+ */
+class RepositoryExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmbeddedDatabase database;
+
+    private RepositoryExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table repository_info (id bigint primary key, owner varchar(255), "
+                + "repo_name varchar(255), full_name varchar(255), description varchar(255), clone_url varchar(255), "
+                + "stars int not null, created_at timestamp, update_time timestamp)");
+        insert(jdbcTemplate, 2L, "Hello-World", "Say \"hello\", world", 80, LocalDateTime.of(2025, 12, 20, 10, 0));
+        insert(jdbcTemplate, 1L, "Spoon-Knife", null, 12, LocalDateTime.of(2025, 12, 1, 10, 0));
+        exportService = new RepositoryExportService(database, objectMapper, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("NDJSON export writes one object per stored repository, in id order")
+    void givenStoredRepositories_whenExportNdjson_thenOneLinePerRow() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = exportService.export(RepositoryExportService.ExportFormat.NDJSON, null, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Spoon-Knife", first.get("repoName").asText());
+        assertTrue(first.get("description").isNull());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals("octocat/Hello-World", second.get("fullName").asText());
+        assertEquals(80, second.get("stars").asInt());
+        assertEquals("2025-01-26T19:01:12Z", second.get("createdAt").asText());
+    }
+
+    @Test
+    @DisplayName("CSV export quotes fields holding separators or quotes and honors since")
+    void givenSince_whenExportCsv_thenOnlyLaterRowsQuoted() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Instant since = LocalDateTime.of(2025, 12, 10, 0, 0).atZone(ZoneId.systemDefault()).toInstant();
+
+        // When
+        long count = exportService.export(RepositoryExportService.ExportFormat.CSV, since, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\r\n");
+        assertEquals(1, count);
+        assertEquals("id,owner,repoName,fullName,description,cloneUrl,stars,createdAt,updatedAt", lines[0]);
+        assertTrue(lines[1].startsWith("2,octocat,Hello-World,octocat/Hello-World,\"Say \"\"hello\"\", world\","
+                + "https://github.com/octocat/Hello-World.git,80,2025-01-26T19:01:12Z,"));
+    }
+
+    @Test
+    @DisplayName("At most max-concurrent exports hold a slot at once")
+    void givenAllSlotsTaken_whenTryAcquire_thenRefusedUntilReleased() {
+        // Given
+        assertTrue(exportService.tryAcquire());
+        assertTrue(exportService.tryAcquire());
+
+        // When
+        boolean third = exportService.tryAcquire();
+        exportService.release();
+
+        // Then
+        assertFalse(third);
+        assertTrue(exportService.tryAcquire());
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, long id, String repoName, String description, int stars,
+                               LocalDateTime updateTime) {
+        jdbcTemplate.update("insert into repository_info values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, "octocat", repoName, "octocat/" + repoName, description,
+                "https://github.com/octocat/" + repoName + ".git", stars,
+                Timestamp.from(Instant.parse("2025-01-26T19:01:12Z")), Timestamp.valueOf(updateTime));
+    }
+}
@@ -0,0 +1,127 @@
+package com.hero.service;
+
+import com.hero.biz.RepositoryResponse;
+import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.entity.RepositoryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@code RepositoryLeaderboard} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/19 11:00
+ * @Version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class RepositoryLeaderboardTest {
+
+    @Mock
+    private RepositoryInfoDao repoInfoRepo;
+
+    private RepositoryLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new RepositoryLeaderboard(repoInfoRepo, 2);
+    }
+
+    @Test
+    @DisplayName("Stored rows are loaded in id batches and ranked overall and per owner")
+    void givenStoredRows_whenLoad_thenRankByStars() {
+        // Given: two full batches and an empty one
+        when(repoInfoRepo.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(repo(1L, "apache", "dubbo", 40), repo(2L, "apache", "kafka", 28)));
+        when(repoInfoRepo.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(repo(3L, "spring-projects", "spring-boot", 75), repo(4L, "apache", "flink", 24)));
+        when(repoInfoRepo.findByIdGreaterThanOrderByIdAsc(4L, PageRequest.of(0, 2)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        leaderboard.load();
+
+        // Then
+        assertEquals(Arrays.asList("spring-projects/spring-boot", "apache/dubbo"), names(leaderboard.top(null, 2)));
+        assertEquals(Arrays.asList("apache/dubbo", "apache/kafka", "apache/flink"), names(leaderboard.top("apache", 10)));
+        assertTrue(leaderboard.top("nobody", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("An update re-ranks the repository instead of adding a second entry")
+    void givenRankedRepository_whenUpdate_thenReRank() {
+        // Given
+        leaderboard.update(repo(1L, "apache", "dubbo", 40));
+        leaderboard.update(repo(2L, "apache", "kafka", 28));
+
+        // When
+        leaderboard.update(repo(2L, "apache", "kafka", 50));
+
+        // Then
+        assertEquals(Arrays.asList("apache/kafka", "apache/dubbo"), names(leaderboard.top("apache", 10)));
+        assertEquals(2, leaderboard.size());
+        assertEquals(50, leaderboard.top(null, 1).get(0).getStars());
+    }
+
+    @Test
+    @DisplayName("A removed repository leaves both rankings")
+    void givenRankedRepository_whenRemoved_thenUnranked() {
+        // Given
+        leaderboard.update(repo(1L, "apache", "dubbo", 40));
+        leaderboard.update(repo(2L, "apache", "kafka", 28));
+
+        // When
+        leaderboard.onRepositoryRemoved(new RepositoryRemovedEvent("apache", "dubbo"));
+
+        // Then
+        assertEquals(Collections.singletonList("apache/kafka"), names(leaderboard.top(null, 10)));
+        assertEquals(Collections.singletonList("apache/kafka"), names(leaderboard.top("apache", 10)));
+        assertEquals(1, leaderboard.size());
+    }
+
+    @Test
+    @DisplayName("A row loaded after an update of the same repository does not overwrite it")
+    void givenUpdatedRepository_whenLoadOlderRow_thenKeepUpdate() {
+        // Given
+        leaderboard.update(repo(1L, "apache", "dubbo", 41));
+        when(repoInfoRepo.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+                .thenReturn(Collections.singletonList(repo(1L, "apache", "dubbo", 40)));
+
+        // When
+        leaderboard.load();
+
+        // Then
+        List<RepositoryResponse> top = leaderboard.top(null, 10);
+        assertEquals(1, top.size());
+        assertEquals(41, top.get(0).getStars());
+    }
+
+    private static List<String> names(List<RepositoryResponse> responses) {
+        return responses.stream().map(RepositoryResponse::getFullName).collect(Collectors.toList());
+    }
+
+    private static RepositoryInfo repo(Long id, String owner, String repoName, int stars) {
+        GitHubRepoDTO dto = new GitHubRepoDTO();
+        dto.setFullName(owner + "/" + repoName);
+        dto.setStargazersCount(stars);
+        dto.setCreatedAt(Instant.parse("2025-01-26T19:01:12Z"));
+        RepositoryInfo info = RepositoryInfo.of(owner, repoName, dto);
+        info.setId(id);
+        return info;
+    }
+}
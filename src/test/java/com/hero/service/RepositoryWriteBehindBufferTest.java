@@ -0,0 +1,232 @@
+package com.hero.service;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.hero.dao.RepositoryInfoDao;
+import com.hero.dao.StarHistoryDao;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.dao.entity.StarSample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * * * Unit tests for the {@code RepositoryWriteBehindBuffer} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/10 15:00
+ * @Version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class RepositoryWriteBehindBufferTest {
+
+    @Mock
+    private RepositoryInfoDao repoInfoRepo;
+
+    @Mock
+    private StarHistoryDao starHistoryDao;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RepositoryWriteBehindBuffer buffer;
+
+    @AfterEach
+    void tearDown() {
+        buffer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // a long flush interval, so only the batch size or shutdown triggers a flush
+        buffer = new RepositoryWriteBehindBuffer(repoInfoRepo, starHistoryDao, new TransactionTemplate(transactionManager),
+                true, 100, 10, Duration.ofMinutes(1), Duration.ofMillis(10), Duration.ofSeconds(5), meterRegistry);
+        buffer.start();
+    }
+
+    @Test
+    @DisplayName("Queued writes are coalesced per repository and flushed in one batch on shutdown")
+    void givenQueuedWrites_whenStop_thenFlushCoalescedBatch() {
+        // Given: two writes for the same repository and one for another
+        buffer.enqueue(repo("octocat", "Hello-World", 80));
+        buffer.enqueue(repo("octocat", "Hello-World", 81));
+        buffer.enqueue(repo("apache", "dubbo", 40000));
+
+        // Then: the latest write is visible before it is flushed
+        assertEquals(81, buffer.findPending("octocat", "Hello-World").getStars());
+
+        // When
+        buffer.stop();
+
+        // Then: a single batch with the latest row per repository
+        verify(repoInfoRepo).saveAll(ArgumentMatchers.<List<RepositoryInfo>>argThat(rows ->
+                rows.size() == 2 && rows.get(0).getStars() == 81));
+        verify(repoInfoRepo, never()).save(any(RepositoryInfo.class));
+        assertNull(buffer.findPending("octocat", "Hello-World"));
+        assertEquals(2, buffer.flushedCount());
+        assertEquals(1, meterRegistry.get("repository.save").tag("mode", "batch").timer().count());
+    }
+
+    @Test
+    @DisplayName("Each flushed row appends a star sample, built after the save assigned its id")
+    void givenQueuedWrites_whenFlushed_thenAppendStarSamples() {
+        // Given: the save assigns ids, as persist does for new rows
+        when(repoInfoRepo.saveAll(anyList())).thenAnswer(invocation -> {
+            List<RepositoryInfo> rows = invocation.getArgument(0);
+            long id = 1;
+            for (RepositoryInfo row : rows) {
+                row.setId(id++);
+            }
+            return rows;
+        });
+        buffer.enqueue(repo("octocat", "Hello-World", 80));
+        buffer.enqueue(repo("apache", "dubbo", 40000));
+
+        // When
+        buffer.stop();
+
+        // Then
+        verify(starHistoryDao).saveAll(ArgumentMatchers.<List<StarSample>>argThat(samples ->
+                samples.size() == 2 && samples.get(0).getRepositoryId() == 1L && samples.get(0).getStars() == 80
+                        && samples.get(1).getStars() == 40000));
+    }
+
+    @Test
+    @DisplayName("A full queue pushes back by writing on the caller's thread")
+    void givenFullQueue_whenEnqueue_thenWriteSynchronously() throws InterruptedException {
+        // Given: a queue of one, and a flusher stuck in a slow batch write
+        buffer.stop();
+        buffer = new RepositoryWriteBehindBuffer(repoInfoRepo, starHistoryDao, new TransactionTemplate(transactionManager),
+                true, 1, 1, Duration.ofMinutes(1), Duration.ofMillis(10), Duration.ofSeconds(5), new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        when(repoInfoRepo.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return invocation.getArgument(0);
+        });
+        buffer.start();
+        try {
+            buffer.enqueue(repo("octocat", "Hello-World", 80));
+            while (buffer.queuedCount() > 0) {
+                Thread.sleep(5);
+            }
+            buffer.enqueue(repo("apache", "dubbo", 40000));
+
+            // When: the queue is full
+            buffer.enqueue(repo("spring-projects", "spring-boot", 70000));
+
+            // Then: the overflowing row was written on this thread
+            verify(repoInfoRepo, times(1)).save(argThat(info -> "spring-boot".equals(info.getRepoName())));
+            assertEquals(1, buffer.synchronousWriteCount());
+
+            // the queued rows are still written in the background once the slow batch completes
+            long deadline = System.currentTimeMillis() + 5000;
+            while (buffer.flushedCount() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(2, buffer.flushedCount());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("A bulk write waits for the flush in progress, so it never writes a row the flusher is writing")
+    void givenFlushInProgress_whenWriteAll_thenBuildRowsAfterFlush() throws InterruptedException {
+        // Given: a flusher stuck writing a new row, which gets its id once the write completes
+        buffer.stop();
+        buffer = new RepositoryWriteBehindBuffer(repoInfoRepo, starHistoryDao, new TransactionTemplate(transactionManager),
+                true, 1, 1, Duration.ofMinutes(1), Duration.ofMillis(10), Duration.ofSeconds(5), new SimpleMeterRegistry());
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repoInfoRepo.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            List<RepositoryInfo> rows = invocation.getArgument(0);
+            rows.forEach(row -> row.setId(7L));
+            return rows;
+        });
+        buffer.start();
+        try {
+            RepositoryInfo queued = repo("octocat", "Hello-World", 80);
+            buffer.enqueue(queued);
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            // When: a bulk write of the same repository starts meanwhile
+            AtomicReference<Long> idSeen = new AtomicReference<>();
+            Thread bulk = new Thread(() -> buffer.writeAll(() -> {
+                idSeen.set(queued.getId());
+                return Collections.singletonList(queued);
+            }));
+            bulk.start();
+            while (bulk.isAlive() && bulk.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            bulk.join(5000);
+
+            // Then: the bulk rows were built once the flush had persisted the row, so it is updated, not inserted twice
+            assertEquals(7L, idSeen.get());
+            verify(repoInfoRepo, times(2)).saveAll(anyList());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Shutdown gives up on a flush stuck on the database after the shutdown timeout")
+    void givenStuckFlush_whenStop_thenReturnWithinShutdownTimeout() throws InterruptedException {
+        // Given: a flusher stuck in a batch write that ignores interrupts, as a hung JDBC call does
+        buffer.stop();
+        buffer = new RepositoryWriteBehindBuffer(repoInfoRepo, starHistoryDao, new TransactionTemplate(transactionManager),
+                true, 10, 1, Duration.ofMinutes(1), Duration.ofMillis(10), Duration.ofMillis(200), new SimpleMeterRegistry());
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repoInfoRepo.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            Uninterruptibles.awaitUninterruptibly(release);
+            return invocation.getArgument(0);
+        });
+        buffer.start();
+        try {
+            buffer.enqueue(repo("octocat", "Hello-World", 80));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            buffer.enqueue(repo("apache", "dubbo", 40000));
+
+            // When
+            long started = System.currentTimeMillis();
+            buffer.stop();
+
+            // Then: stop returned instead of waiting on the stuck flush, and the queued row was not written
+            assertTrue(System.currentTimeMillis() - started < 5000);
+            verify(repoInfoRepo, times(1)).saveAll(anyList());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static RepositoryInfo repo(String owner, String repoName, int stars) {
+        return RepositoryInfo.builder().owner(owner).repoName(repoName).stars(stars).build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.hero.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code ConsistentHashRing} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/21 11:20
+ * @Version 1.0
+ *
+ */
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    @DisplayName("Keys spread evenly and rings built from the same nodes agree")
+    void givenThreeNodes_whenNodeFor_thenEvenAndDeterministic() {
+        // Given
+        List<String> nodes = Arrays.asList("http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes, 100);
+        ConsistentHashRing<String> sameRing = new ConsistentHashRing<>(nodes, 100);
+
+        // When
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            String key = "owner" + (i % 100) + "/repo-" + i;
+            counts.merge(ring.nodeFor(key), 1, Integer::sum);
+            assertEquals(ring.nodeFor(key), sameRing.nodeFor(key));
+        }
+
+        // Then: every node owns roughly a third of the keys
+        for (String node : nodes) {
+            assertTrue(Math.abs(counts.get(node) - KEYS / 3) < KEYS / 10, node + " owns " + counts.get(node));
+        }
+    }
+
+    @Test
+    @DisplayName("Adding a node only moves keys to the new node")
+    void givenAddedNode_whenNodeFor_thenOnlyMovesToNewNode() {
+        // Given
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(Arrays.asList("a", "b", "c"), 100);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(Arrays.asList("a", "b", "c", "d"), 100);
+
+        // When / Then
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "octocat/repo-" + i;
+            if (!before.nodeFor(key).equals(after.nodeFor(key))) {
+                assertEquals("d", after.nodeFor(key));
+                moved++;
+            }
+        }
+        assertTrue(moved < KEYS / 2);
+    }
+}
@@ -0,0 +1,108 @@
+package com.hero.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code SingleFlight} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/3 15:40
+ * @Version 1.0
+ *
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    @DisplayName("Concurrent callers for the same key share a single load")
+    void givenConcurrentCallers_whenExecute_thenLoadRunsOnce() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute("octocat/Hello-World", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "loaded";
+        }), loading, release);
+
+        for (Future<String> result : results) {
+            assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent callers for the same key share the loader's exception")
+    void givenLoaderThrows_whenExecute_thenAllCallersSeeSameException() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(() -> singleFlight.execute("someuser/unknownrepo", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            throw new RepoNotFoundException("someuser", "unknownrepo");
+        }), loading, release);
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof RepoNotFoundException);
+        }
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Starts one caller, waits inside its loader, then starts the others and releases the loader once every one of
+     * them is parked on the in-flight load.
+     */
+    private static List<Future<String>> runConcurrently(Callable<String> call, CountDownLatch loading,
+                                                        CountDownLatch release) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        FutureTask<String> loader = new FutureTask<>(call);
+        start(loader);
+        results.add(loader);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        List<Thread> joiners = new ArrayList<>();
+        for (int i = 1; i < CALLERS; i++) {
+            FutureTask<String> joiner = new FutureTask<>(call);
+            joiners.add(start(joiner));
+            results.add(joiner);
+        }
+        for (Thread joiner : joiners) {
+            while (joiner.getState() != Thread.State.WAITING && joiner.isAlive()) {
+                Thread.yield();
+            }
+        }
+        release.countDown();
+        return results;
+    }
+
+    private static Thread start(FutureTask<String> task) {
+        Thread thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.hero.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code AdaptiveConcurrencyLimiter} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/23 11:00
+ * @Version 1.0
+ *
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("Upstream lookups leave the local reserve free; past the limit requests are shed")
+    void givenLimitReached_whenTryAcquire_thenShedUpstreamBeforeLocal() {
+        // Given: a limit of 10 of which 2 slots are reserved for cached lookups, no queue
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO, 1.0);
+        for (int i = 0; i < 8; i++) {
+            assertNotNull(limiter.tryAcquire(false));
+        }
+
+        // When / Then
+        assertNull(limiter.tryAcquire(false));
+        assertNotNull(limiter.tryAcquire(true));
+        assertNotNull(limiter.tryAcquire(true));
+        assertNull(limiter.tryAcquire(true));
+        assertEquals(2L, limiter.stats().get("rejected"));
+    }
+
+    @Test
+    @DisplayName("A queued request takes the slot released within the maximum wait")
+    void givenQueuedRequest_whenSlotReleased_thenAdmitted() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 10, Duration.ofSeconds(5), 1.0);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.tryAcquire(true);
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(limiter.tryAcquire(true));
+        }
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> queued =
+                CompletableFuture.supplyAsync(() -> limiter.tryAcquire(true));
+
+        // When
+        while (!Integer.valueOf(1).equals(limiter.stats().get("localWaiting"))) {
+            Thread.sleep(1);
+        }
+        held.release(false, false);
+
+        // Then
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("The limit shrinks when upstream latency rises over its minimum and when upstream is overloaded")
+    void givenSlowerOrFailingUpstream_whenReleased_thenLimitShrinks() throws Exception {
+        // Given: a fast lookup sets the latency baseline
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO, 1.0);
+        limiter.tryAcquire(false).release(true, false);
+
+        // When: a lookup a lot slower than the baseline completes
+        AdaptiveConcurrencyLimiter.Permit slow = limiter.tryAcquire(false);
+        Thread.sleep(50);
+        slow.release(true, false);
+
+        // Then: halved, plus the sqrt(limit) allowance
+        assertEquals(8, limiter.getLimit());
+
+        // When / Then: overload cuts the limit multiplicatively, down to the minimum
+        limiter.tryAcquire(false).release(true, true);
+        assertEquals(7, limiter.getLimit());
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire(false).release(true, true);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("The limit grows while latency stays within the tolerance and the limit is in use")
+    void givenSteadyLatencyUnderLoad_whenReleased_thenLimitGrows() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO, 1.0);
+        AdaptiveConcurrencyLimiter.Permit[] permits = new AdaptiveConcurrencyLimiter.Permit[8];
+        for (int i = 0; i < permits.length; i++) {
+            permits[i] = limiter.tryAcquire(false);
+        }
+
+        // When
+        permits[0].release(true, false);
+
+        // Then
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    @DisplayName("Lookups answered from storage leave the latency baseline alone")
+    void givenStorageHit_whenReleased_thenBaselineUnchanged() throws Exception {
+        // Given: an upstream lookup sets the baseline
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO, 1.0);
+        AdaptiveConcurrencyLimiter.Permit upstream = limiter.tryAcquire(false);
+        Thread.sleep(20);
+        upstream.release(true, false);
+        Object baseline = limiter.stats().get("minRttMillis");
+
+        // When: a much faster lookup that did not call upstream completes
+        limiter.tryAcquire(false).release(false, false);
+
+        // Then
+        assertEquals(baseline, limiter.stats().get("minRttMillis"));
+        assertEquals(10, limiter.getLimit());
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxQueue, Duration maxWait, double smoothing) {
+        return new AdaptiveConcurrencyLimiter(true, initialLimit, 2, 100, maxQueue, maxWait, 0.2, 2.0, smoothing,
+                Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,127 @@
+package com.hero.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hero.service.OwnerRepositoriesService;
+import com.hero.service.RepoBatchService;
+import com.hero.service.RepoDetailsService;
+import com.hero.service.StarHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests of the {@code RepositoryController} request validation, on a standalone MockMvc.
+ *
+ * @Author Andrea
+ * @Date 2025/12/26 11:00
+ * @Version 1.0
+ *
+ */
+@ExtendWith(MockitoExtension.class)
+class RepositoryControllerTest {
+
+    @Mock
+    private RepoDetailsService repoDetailsService;
+
+    @Mock
+    private StarHistoryService starHistoryService;
+
+    @Mock
+    private RepoBatchService repoBatchService;
+
+    @Mock
+    private OwnerRepositoriesService ownerRepositoriesService;
+
+    @Mock
+    private RepositoryResponseCache responseCache;
+
+    @Mock
+    private AdaptiveConcurrencyLimiter limiter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RepositoryController controller = new RepositoryController(repoDetailsService, starHistoryService,
+                repoBatchService, ownerRepositoriesService, new ObjectMapper(), responseCache, limiter);
+        ReflectionTestUtils.setField(controller, "maxStarHistoryPoints", 100);
+        ReflectionTestUtils.setField(controller, "maxOwnerPageSize", 100);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("A valid star history range is parsed and passed on")
+    void givenValidRange_whenGetStarHistory_thenDelegate() throws Exception {
+        mockMvc.perform(get("/repositories/octocat/Hello-World/stars")
+                        .param("from", "2025-12-01T00:00:00Z")
+                        .param("to", "2025-12-02T00:00:00Z")
+                        .param("step", "PT1H"))
+                .andExpect(status().isOk());
+
+        verify(starHistoryService).getStarHistory("octocat", "Hello-World", Instant.parse("2025-12-01T00:00:00Z"),
+                Instant.parse("2025-12-02T00:00:00Z"), Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Unparsable instants or steps are rejected with 400")
+    void givenUnparsableParameters_whenGetStarHistory_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/repositories/octocat/Hello-World/stars").param("from", "yesterday"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/repositories/octocat/Hello-World/stars").param("to", "2025-12-02"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/repositories/octocat/Hello-World/stars").param("step", "1h"))
+                .andExpect(status().isBadRequest());
+
+        verify(starHistoryService, never()).getStarHistory(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("An empty range, a step under one minute or too many points are rejected with 400")
+    void givenInvalidRange_whenGetStarHistory_thenBadRequest() throws Exception {
+        // from not before to
+        mockMvc.perform(get("/repositories/octocat/Hello-World/stars")
+                        .param("from", "2025-12-02T00:00:00Z")
+                        .param("to", "2025-12-02T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+        // step under the one minute minimum
+        mockMvc.perform(get("/repositories/octocat/Hello-World/stars")
+                        .param("from", "2025-12-01T00:00:00Z")
+                        .param("to", "2025-12-02T00:00:00Z")
+                        .param("step", "PT30S"))
+                .andExpect(status().isBadRequest());
+        // 1440 one-minute points over the maximum of 100
+        mockMvc.perform(get("/repositories/octocat/Hello-World/stars")
+                        .param("from", "2025-12-01T00:00:00Z")
+                        .param("to", "2025-12-02T00:00:00Z")
+                        .param("step", "PT1M"))
+                .andExpect(status().isBadRequest());
+
+        verify(starHistoryService, never()).getStarHistory(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Every single path segment names an owner, including top and export")
+    void givenReservedLookingOwner_whenGet_thenListOwner() throws Exception {
+        mockMvc.perform(get("/repositories/top"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/repositories/export"))
+                .andExpect(status().isOk());
+
+        verify(ownerRepositoriesService).listRepositories("top", null, 100);
+        verify(ownerRepositoriesService).listRepositories("export", null, 100);
+    }
+}
@@ -0,0 +1,103 @@
+package com.hero.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hero.biz.dto.GitHubRepoDTO;
+import com.hero.dao.entity.RepositoryInfo;
+import com.hero.service.RepositoryUpdatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code RepositoryResponseCache} class.
+ *
+ * @Author Andrea
+ * @Date 2025/12/16 11:00
+ * @Version 1.0
+ *
+ */
+class RepositoryResponseCacheTest {
+
+    private final RepositoryResponseCache responseCache =
+            new RepositoryResponseCache(new ObjectMapper(), Duration.ofMinutes(5), 100);
+
+    @Test
+    @DisplayName("The same content version is serialized once and new content gets a new ETag")
+    void givenSameAndChangedContent_whenSerialize_thenReuseOrRebuild() {
+        // Given
+        RepositoryInfo info = repo(80);
+
+        // When
+        RepositoryResponseCache.SerializedRepository first = responseCache.serialize(info);
+        RepositoryResponseCache.SerializedRepository second = responseCache.serialize(repo(80));
+        RepositoryResponseCache.SerializedRepository changed = responseCache.serialize(repo(81));
+
+        // Then
+        assertSame(first, second);
+        assertNotEquals(first.getEtag(), changed.getEtag());
+        assertSame(changed, responseCache.get("octocat", "Hello-World"));
+    }
+
+    @Test
+    @DisplayName("If-None-Match matches the strong ETag of either encoding, its weak form, lists and the wildcard")
+    void givenIfNoneMatchVariants_whenMatches_thenCompareWeakly() {
+        RepositoryResponseCache.SerializedRepository serialized = responseCache.serialize(repo(80));
+        String etag = serialized.getEtag();
+
+        assertNotEquals(etag, serialized.etag(true));
+        assertEquals(etag, serialized.etag(false));
+        assertTrue(serialized.matches(etag));
+        assertTrue(serialized.matches(serialized.getGzipEtag()));
+        assertTrue(serialized.matches("W/" + serialized.getGzipEtag()));
+        assertTrue(serialized.matches("W/" + etag));
+        assertTrue(serialized.matches("\"other\", " + etag));
+        assertTrue(serialized.matches("*"));
+        assertFalse(serialized.matches("\"other\""));
+        assertFalse(serialized.matches(null));
+    }
+
+    @Test
+    @DisplayName("The gzip variant inflates to the JSON body")
+    void givenSerialized_whenInflateGzip_thenSameJson() throws IOException {
+        RepositoryResponseCache.SerializedRepository serialized = responseCache.serialize(repo(80));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(serialized.getGzipped()))) {
+            byte[] inflated = new byte[serialized.getJson().length];
+            int read = 0;
+            for (int n; read < inflated.length && (n = in.read(inflated, read, inflated.length - read)) > 0; ) {
+                read += n;
+            }
+            assertArrayEquals(serialized.getJson(), inflated);
+        }
+    }
+
+    @Test
+    @DisplayName("Stored new content drops the cached response")
+    void givenCachedResponse_whenRepositoryUpdated_thenInvalidate() {
+        // Given
+        responseCache.serialize(repo(80));
+
+        // When
+        responseCache.onRepositoryUpdated(new RepositoryUpdatedEvent(repo(81)));
+
+        // Then
+        assertNull(responseCache.get("octocat", "Hello-World"));
+    }
+
+    private static RepositoryInfo repo(int stars) {
+        GitHubRepoDTO dto = new GitHubRepoDTO();
+        dto.setFullName("octocat/Hello-World");
+        dto.setDescription("This is your first repo!");
+        dto.setCloneUrl("https://github.com/octocat/Hello-World.git");
+        dto.setStargazersCount(stars);
+        dto.setCreatedAt(Instant.parse("2025-01-26T19:01:12Z"));
+        return RepositoryInfo.of("octocat", "Hello-World", dto);
+    }
+}